@@ -0,0 +1,565 @@
+package redis.clients.jedis;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Client whose commands return a {@link CompletableFuture} instead of blocking until the reply
+ * arrives. All callers share one connection: commands are written in the order they are called
+ * and their replies are matched in the same order by a dedicated I/O thread, so any number of
+ * threads can have commands in flight without a connection each.
+ * <p>
+ * By default every command is flushed as soon as it is written. With a maximum batch size larger
+ * than one, commands are only buffered by the calling thread and a flusher thread writes them
+ * out together: as soon as the batch is full, or when the linger time has passed since the first
+ * buffered command. Concurrent callers thus share socket writes the way a {@link Pipeline} does,
+ * at the price of up to the linger time of latency. A linger time of zero still batches whatever
+ * is written while the previous flush is in progress.
+ * <p>
+ * Futures are completed on the I/O thread. Dependent stages added without an executor run there
+ * too and must not block.
+ * <p>
+ * Blocking commands, transactions and pub/sub cannot share the connection and are not offered. If
+ * the connection breaks, every pending and later future fails with a
+ * {@link JedisConnectionException} and a new instance has to be created.
+ */
+public class AsyncJedis implements Closeable {
+
+  private final BinaryJedis jedis;
+  private final Client client;
+  private final BlockingQueue<PendingReply<?>> inFlight = new LinkedBlockingQueue<>();
+  private final Thread reader;
+  private final Thread flusher;
+
+  private final int maxBatchSize;
+  private final long lingerNanos;
+
+  /**
+   * Guards writing to the connection, {@link #failure} and the batch counters.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition batchChanged = lock.newCondition();
+  private JedisConnectionException failure;
+  private int unflushed;
+  /**
+   * When the first command of the current batch was buffered.
+   */
+  private long batchStartNanos;
+  private long flushCount;
+  private long flushedCommandCount;
+
+  public AsyncJedis(final HostAndPort hostAndPort) {
+    this(hostAndPort, DefaultJedisClientConfig.builder().build());
+  }
+
+  public AsyncJedis(final HostAndPort hostAndPort, final JedisClientConfig config) {
+    this(hostAndPort, config, 1, 0);
+  }
+
+  /**
+   * Connects and authenticates right away, the commands of the handshake are still sent
+   * synchronously.
+   * @param maxBatchSize number of buffered commands that are flushed right away, 1 flushes every
+   * command on the calling thread
+   * @param lingerMicros how long the first buffered command may wait for the batch to fill up
+   */
+  public AsyncJedis(final HostAndPort hostAndPort, final JedisClientConfig config,
+      final int maxBatchSize, final long lingerMicros) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("maxBatchSize < 1");
+    }
+    if (lingerMicros < 0) {
+      throw new IllegalArgumentException("lingerMicros < 0");
+    }
+    this.maxBatchSize = maxBatchSize;
+    this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+
+    jedis = new BinaryJedis(hostAndPort, config);
+    client = jedis.getClient();
+    reader = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        readReplies();
+      }
+    }, "jedis-async-" + hostAndPort);
+    reader.setDaemon(true);
+    reader.start();
+
+    if (maxBatchSize > 1) {
+      flusher = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          flushBatches();
+        }
+      }, "jedis-async-flusher-" + hostAndPort);
+      flusher.setDaemon(true);
+      flusher.start();
+    } else {
+      flusher = null;
+    }
+  }
+
+  /**
+   * @return number of commands whose reply has not been read yet
+   */
+  public int getInFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * @return number of times buffered commands were flushed to the connection
+   */
+  public long getFlushCount() {
+    lock.lock();
+    try {
+      return flushCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return number of commands flushed to the connection
+   */
+  public long getFlushedCommandCount() {
+    lock.lock();
+    try {
+      return flushedCommandCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return average number of commands written per flush, 0 if nothing was flushed yet
+   */
+  public double getAverageBatchSize() {
+    lock.lock();
+    try {
+      return flushCount == 0 ? 0 : (double) flushedCommandCount / flushCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public boolean isBroken() {
+    lock.lock();
+    try {
+      return failure != null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the connection. Commands still in flight or not flushed yet fail.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      if (failure == null) {
+        failure = new JedisConnectionException("AsyncJedis is closed");
+      }
+      try {
+        jedis.close();
+      } catch (JedisConnectionException e) {
+        // closing anyway
+      }
+      batchChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    reader.interrupt();
+    failAll(failure);
+  }
+
+  private <T> CompletableFuture<T> execute(final Builder<T> builder,
+      final Consumer<Client> command) {
+    final PendingReply<T> pending = new PendingReply<>(builder);
+    lock.lock();
+    try {
+      if (failure != null) {
+        pending.fail(failure);
+        return pending.future;
+      }
+      try {
+        command.accept(client);
+        // queued before the flush, so the reader never sees a reply it does not expect
+        inFlight.add(pending);
+        if (++unflushed >= maxBatchSize) {
+          flush();
+        } else if (unflushed == 1) {
+          batchStartNanos = System.nanoTime();
+          batchChanged.signal();
+        }
+      } catch (JedisConnectionException e) {
+        broken(e);
+        pending.fail(e);
+      }
+    } finally {
+      lock.unlock();
+    }
+    return pending.future;
+  }
+
+  /**
+   * Must be called with the lock held.
+   */
+  private void flush() {
+    client.flush();
+    flushCount++;
+    flushedCommandCount += unflushed;
+    unflushed = 0;
+  }
+
+  /**
+   * Must be called with the lock held.
+   */
+  private void broken(final JedisConnectionException e) {
+    failure = e;
+    // unblocks the reader, which fails what is left in flight
+    try {
+      client.disconnect();
+    } catch (JedisConnectionException ignored) {
+      // already broken
+    }
+    batchChanged.signalAll();
+  }
+
+  private void flushBatches() {
+    lock.lock();
+    try {
+      while (true) {
+        while (unflushed == 0 && failure == null) {
+          batchChanged.awaitUninterruptibly();
+        }
+        if (failure != null) {
+          return;
+        }
+
+        // a new batch that follows one flushed because it was full has a linger time of its own
+        while (unflushed > 0 && failure == null) {
+          final long remaining = batchStartNanos + lingerNanos - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          batchChanged.awaitNanos(remaining);
+        }
+        if (failure != null) {
+          return;
+        }
+
+        if (unflushed > 0) {
+          try {
+            flush();
+          } catch (JedisConnectionException e) {
+            broken(e);
+            return;
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      // awaitNanos is only interrupted if the flusher is, which this class never does
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void readReplies() {
+    while (true) {
+      final PendingReply<?> pending;
+      try {
+        pending = inFlight.take();
+      } catch (InterruptedException e) {
+        return;
+      }
+
+      Object reply;
+      try {
+        reply = client.readProtocolWithCheckingBroken();
+      } catch (JedisDataException e) {
+        reply = e;
+      } catch (JedisConnectionException e) {
+        lock.lock();
+        try {
+          if (failure == null) {
+            failure = e;
+          }
+          batchChanged.signalAll();
+        } finally {
+          lock.unlock();
+        }
+        pending.fail(failure);
+        failAll(failure);
+        return;
+      }
+      pending.complete(reply);
+    }
+  }
+
+  private void failAll(final JedisConnectionException e) {
+    PendingReply<?> pending;
+    while ((pending = inFlight.poll()) != null) {
+      pending.fail(e);
+    }
+  }
+
+  private static final class PendingReply<T> {
+
+    final Builder<T> builder;
+    final CompletableFuture<T> future = new CompletableFuture<>();
+
+    PendingReply(Builder<T> builder) {
+      this.builder = builder;
+    }
+
+    void complete(Object reply) {
+      if (reply instanceof JedisDataException) {
+        future.completeExceptionally((JedisDataException) reply);
+        return;
+      }
+      try {
+        future.complete(builder.build(reply));
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+
+    void fail(Throwable e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  public CompletableFuture<Object> sendCommand(final ProtocolCommand cmd, final String... args) {
+    return execute(BuilderFactory.RAW_OBJECT, c -> c.sendCommand(cmd, args));
+  }
+
+  public CompletableFuture<Object> sendCommand(final ProtocolCommand cmd, final byte[]... args) {
+    return execute(BuilderFactory.RAW_OBJECT, c -> c.sendCommand(cmd, args));
+  }
+
+  public CompletableFuture<String> ping() {
+    return execute(BuilderFactory.STRING, c -> c.ping());
+  }
+
+  public CompletableFuture<Boolean> exists(final String key) {
+    return execute(BuilderFactory.BOOLEAN, c -> c.exists(key));
+  }
+
+  public CompletableFuture<Long> del(final String... keys) {
+    return execute(BuilderFactory.LONG, c -> c.del(keys));
+  }
+
+  public CompletableFuture<Long> del(final byte[]... keys) {
+    return execute(BuilderFactory.LONG, c -> c.del(keys));
+  }
+
+  public CompletableFuture<Long> unlink(final String... keys) {
+    return execute(BuilderFactory.LONG, c -> c.unlink(keys));
+  }
+
+  public CompletableFuture<String> type(final String key) {
+    return execute(BuilderFactory.STRING, c -> c.type(key));
+  }
+
+  public CompletableFuture<Long> expire(final String key, final long seconds) {
+    return execute(BuilderFactory.LONG, c -> c.expire(key, seconds));
+  }
+
+  public CompletableFuture<Long> ttl(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.ttl(key));
+  }
+
+  public CompletableFuture<String> get(final String key) {
+    return execute(BuilderFactory.STRING, c -> c.get(key));
+  }
+
+  public CompletableFuture<byte[]> get(final byte[] key) {
+    return execute(BuilderFactory.BYTE_ARRAY, c -> c.get(key));
+  }
+
+  public CompletableFuture<String> set(final String key, final String value) {
+    return execute(BuilderFactory.STRING, c -> c.set(key, value));
+  }
+
+  public CompletableFuture<String> set(final String key, final String value,
+      final SetParams params) {
+    return execute(BuilderFactory.STRING, c -> c.set(key, value, params));
+  }
+
+  public CompletableFuture<String> set(final byte[] key, final byte[] value) {
+    return execute(BuilderFactory.STRING, c -> c.set(key, value));
+  }
+
+  public CompletableFuture<String> setex(final String key, final long seconds, final String value) {
+    return execute(BuilderFactory.STRING, c -> c.setex(key, seconds, value));
+  }
+
+  public CompletableFuture<List<String>> mget(final String... keys) {
+    return execute(BuilderFactory.STRING_LIST, c -> c.mget(keys));
+  }
+
+  public CompletableFuture<String> mset(final String... keysvalues) {
+    return execute(BuilderFactory.STRING, c -> c.mset(keysvalues));
+  }
+
+  public CompletableFuture<Long> incr(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.incr(key));
+  }
+
+  public CompletableFuture<Long> incrBy(final String key, final long increment) {
+    return execute(BuilderFactory.LONG, c -> c.incrBy(key, increment));
+  }
+
+  public CompletableFuture<Long> decr(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.decr(key));
+  }
+
+  public CompletableFuture<Long> decrBy(final String key, final long decrement) {
+    return execute(BuilderFactory.LONG, c -> c.decrBy(key, decrement));
+  }
+
+  public CompletableFuture<Long> append(final String key, final String value) {
+    return execute(BuilderFactory.LONG, c -> c.append(key, value));
+  }
+
+  public CompletableFuture<String> hget(final String key, final String field) {
+    return execute(BuilderFactory.STRING, c -> c.hget(key, field));
+  }
+
+  public CompletableFuture<byte[]> hget(final byte[] key, final byte[] field) {
+    return execute(BuilderFactory.BYTE_ARRAY, c -> c.hget(key, field));
+  }
+
+  public CompletableFuture<Long> hset(final String key, final String field, final String value) {
+    return execute(BuilderFactory.LONG, c -> c.hset(key, field, value));
+  }
+
+  public CompletableFuture<Long> hset(final String key, final Map<String, String> hash) {
+    return execute(BuilderFactory.LONG, c -> c.hset(key, hash));
+  }
+
+  public CompletableFuture<Long> hset(final byte[] key, final byte[] field, final byte[] value) {
+    return execute(BuilderFactory.LONG, c -> c.hset(key, field, value));
+  }
+
+  public CompletableFuture<List<String>> hmget(final String key, final String... fields) {
+    return execute(BuilderFactory.STRING_LIST, c -> c.hmget(key, fields));
+  }
+
+  public CompletableFuture<Map<String, String>> hgetAll(final String key) {
+    return execute(BuilderFactory.STRING_MAP, c -> c.hgetAll(key));
+  }
+
+  public CompletableFuture<Map<byte[], byte[]>> hgetAll(final byte[] key) {
+    return execute(BuilderFactory.BYTE_ARRAY_MAP, c -> c.hgetAll(key));
+  }
+
+  public CompletableFuture<Long> hdel(final String key, final String... fields) {
+    return execute(BuilderFactory.LONG, c -> c.hdel(key, fields));
+  }
+
+  public CompletableFuture<Boolean> hexists(final String key, final String field) {
+    return execute(BuilderFactory.BOOLEAN, c -> c.hexists(key, field));
+  }
+
+  public CompletableFuture<Long> hincrBy(final String key, final String field, final long value) {
+    return execute(BuilderFactory.LONG, c -> c.hincrBy(key, field, value));
+  }
+
+  public CompletableFuture<Long> lpush(final String key, final String... strings) {
+    return execute(BuilderFactory.LONG, c -> c.lpush(key, strings));
+  }
+
+  public CompletableFuture<Long> rpush(final String key, final String... strings) {
+    return execute(BuilderFactory.LONG, c -> c.rpush(key, strings));
+  }
+
+  public CompletableFuture<String> lpop(final String key) {
+    return execute(BuilderFactory.STRING, c -> c.lpop(key));
+  }
+
+  public CompletableFuture<String> rpop(final String key) {
+    return execute(BuilderFactory.STRING, c -> c.rpop(key));
+  }
+
+  public CompletableFuture<List<String>> lrange(final String key, final long start,
+      final long stop) {
+    return execute(BuilderFactory.STRING_LIST, c -> c.lrange(key, start, stop));
+  }
+
+  public CompletableFuture<Long> llen(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.llen(key));
+  }
+
+  public CompletableFuture<Long> sadd(final String key, final String... members) {
+    return execute(BuilderFactory.LONG, c -> c.sadd(key, members));
+  }
+
+  public CompletableFuture<Long> srem(final String key, final String... members) {
+    return execute(BuilderFactory.LONG, c -> c.srem(key, members));
+  }
+
+  public CompletableFuture<Set<String>> smembers(final String key) {
+    return execute(BuilderFactory.STRING_SET, c -> c.smembers(key));
+  }
+
+  public CompletableFuture<Boolean> sismember(final String key, final String member) {
+    return execute(BuilderFactory.BOOLEAN, c -> c.sismember(key, member));
+  }
+
+  public CompletableFuture<Long> scard(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.scard(key));
+  }
+
+  public CompletableFuture<Long> zadd(final String key, final double score, final String member) {
+    return execute(BuilderFactory.LONG, c -> c.zadd(key, score, member));
+  }
+
+  public CompletableFuture<Long> zrem(final String key, final String... members) {
+    return execute(BuilderFactory.LONG, c -> c.zrem(key, members));
+  }
+
+  public CompletableFuture<Double> zincrby(final String key, final double increment,
+      final String member) {
+    return execute(BuilderFactory.DOUBLE, c -> c.zincrby(key, increment, member));
+  }
+
+  public CompletableFuture<Double> zscore(final String key, final String member) {
+    return execute(BuilderFactory.DOUBLE, c -> c.zscore(key, member));
+  }
+
+  public CompletableFuture<Set<String>> zrange(final String key, final long start,
+      final long stop) {
+    return execute(BuilderFactory.STRING_ZSET, c -> c.zrange(key, start, stop));
+  }
+
+  public CompletableFuture<Set<Tuple>> zrangeWithScores(final String key, final long start,
+      final long stop) {
+    return execute(BuilderFactory.TUPLE_ZSET, c -> c.zrangeWithScores(key, start, stop));
+  }
+
+  public CompletableFuture<Long> zcard(final String key) {
+    return execute(BuilderFactory.LONG, c -> c.zcard(key));
+  }
+
+  public CompletableFuture<Long> publish(final String channel, final String message) {
+    return execute(BuilderFactory.LONG, c -> c.publish(channel, message));
+  }
+}
@@ -29,6 +29,7 @@ import redis.clients.jedis.args.ClientType;
 import redis.clients.jedis.args.ListDirection;
 import redis.clients.jedis.args.FlushMode;
 import redis.clients.jedis.args.SaveMode;
+import redis.clients.jedis.args.StreamedValue;
 import redis.clients.jedis.args.UnblockType;
 import redis.clients.jedis.params.*;
 import redis.clients.jedis.util.SafeEncoder;
@@ -197,6 +198,10 @@ public class BinaryClient extends Connection {
     sendCommand(SET, key, value);
   }
 
+  public void setStreamed(final byte[] key, final StreamedValue value) {
+    sendCommand(SET, new byte[][] { key }, value);
+  }
+
   public void set(final byte[] key, final byte[] value, final SetParams params) {
     sendCommand(SET, params.getByteParams(key, value));
   }
@@ -286,6 +291,26 @@ public class BinaryClient extends Connection {
     sendCommand(TOUCH, keys);
   }
 
+  public void hello(final RedisProtocol protocol) {
+    sendCommand(HELLO, protocol.raw);
+  }
+
+  public void hello(final RedisProtocol protocol, final String user, final String password,
+      final String clientName) {
+    final List<byte[]> args = new ArrayList<>(6);
+    args.add(protocol.raw);
+    if (password != null) {
+      args.add(AUTH.getRaw());
+      args.add(SafeEncoder.encode(user != null ? user : "default"));
+      args.add(SafeEncoder.encode(password));
+    }
+    if (clientName != null) {
+      args.add(Keyword.SETNAME.getRaw());
+      args.add(SafeEncoder.encode(clientName));
+    }
+    sendCommand(HELLO, args.toArray(new byte[args.size()][]));
+  }
+
   public void select(final int index) {
     sendCommand(SELECT, toByteArray(index));
   }
@@ -330,6 +355,10 @@ public class BinaryClient extends Connection {
     sendCommand(SETEX, key, toByteArray(seconds), value);
   }
 
+  public void setexStreamed(final byte[] key, final long seconds, final StreamedValue value) {
+    sendCommand(SETEX, new byte[][] { key, toByteArray(seconds) }, value);
+  }
+
   public void mset(final byte[]... keysvalues) {
     sendCommand(MSET, keysvalues);
   }
@@ -370,6 +399,10 @@ public class BinaryClient extends Connection {
     sendCommand(HSET, key, field, value);
   }
 
+  public void hsetStreamed(final byte[] key, final byte[] field, final StreamedValue value) {
+    sendCommand(HSET, new byte[][] { key, field }, value);
+  }
+
   public void hset(final byte[] key, final Map<byte[], byte[]> hash) {
     final byte[][] params = new byte[1 + hash.size() * 2][];
 
@@ -1370,6 +1403,11 @@ public class BinaryClient extends Connection {
     sendCommand(CLIENT, Keyword.ID.getRaw());
   }
 
+  public void clientTrackingOn(final long redirectClientId) {
+    sendCommand(CLIENT, Keyword.TRACKING.getRaw(), Keyword.ON.getRaw(),
+      Keyword.REDIRECT.getRaw(), toByteArray(redirectClientId));
+  }
+
   public void clientUnblock(final long clientId, final UnblockType unblockType) {
     if (unblockType == null) {
       sendCommand(CLIENT, Keyword.UNBLOCK.getRaw(), toByteArray(clientId));
@@ -1714,6 +1752,11 @@ public class BinaryClient extends Connection {
     sendCommand(XADD, params);
   }
 
+  public void xaddStreamed(final byte[] key, final byte[] id, final byte[] field,
+      final StreamedValue value) {
+    sendCommand(XADD, new byte[][] { key, id, field }, value);
+  }
+
   public void xadd(final byte[] key, final Map<byte[], byte[]> hash, final XAddParams xAddParams) {
     final byte[][] params = new byte[hash.size() * 2][];
     int index = 0;
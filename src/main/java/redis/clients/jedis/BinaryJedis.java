@@ -3,8 +3,12 @@ package redis.clients.jedis;
 import static redis.clients.jedis.Protocol.toByteArray;
 
 import java.io.Closeable;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.net.Socket;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.ArrayList;
@@ -43,6 +47,15 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   protected Pipeline pipeline = null;
   protected static final byte[][] DUMMY_ARRAY = new byte[0][];
 
+  private NearCache nearCache;
+  private JedisClientConfig nearCacheConfig;
+  private NearCache.InvalidationListener nearCacheListener;
+  private int nearCacheGeneration = -1;
+  /**
+   * Connection that CLIENT TRACKING was turned on for.
+   */
+  private Socket nearCacheSocket;
+
   public BinaryJedis() {
     client = new Client();
   }
@@ -83,15 +96,23 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   }
 
   private void initializeFromClientConfig(JedisClientConfig config) {
+    nearCache = config.getNearCache();
+    nearCacheConfig = config;
     try {
       connect();
-      String password = config.getPassword();
-      if (password != null) {
-        String user = config.getUser();
-        if (user != null) {
-          auth(user, password);
-        } else {
-          auth(password);
+      RedisProtocol protocol = config.getRedisProtocol();
+      if (protocol != null) {
+        // HELLO authenticates and names the connection in the same round trip
+        hello(protocol, config.getUser(), config.getPassword(), config.getClientName());
+      } else {
+        String password = config.getPassword();
+        if (password != null) {
+          String user = config.getUser();
+          if (user != null) {
+            auth(user, password);
+          } else {
+            auth(password);
+          }
         }
       }
       int dbIndex = config.getDatabase();
@@ -99,7 +120,7 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
         select(dbIndex);
       }
       String clientName = config.getClientName();
-      if (clientName != null) {
+      if (clientName != null && protocol == null) {
         // TODO: need to figure out something without encoding
         clientSetname(redis.clients.jedis.util.SafeEncoder.encode(clientName));
       }
@@ -406,6 +427,19 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Works same as {@link #set(byte[], byte[])} but the value is streamed to the socket while the
+   * command is written, so large values never need to be held in a byte[].
+   * @param key
+   * @param value
+   * @return Status code reply
+   */
+  public String setStreamed(final byte[] key, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.setStreamed(key, value);
+    return client.getStatusCodeReply();
+  }
+
   /**
    * Set the string value as value of the key. The string can't be longer than 1073741824 bytes (1
    * GB).
@@ -433,10 +467,55 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   @Override
   public byte[] get(final byte[] key) {
     checkIsInMultiOrPipeline();
+    if (nearCache != null) {
+      // the cached array is shared by every client of the cache
+      final byte[] value = nearCacheGet(key);
+      return value == null ? null : value.clone();
+    }
     client.get(key);
     return client.getBinaryBulkReply();
   }
 
+  /**
+   * Works same as {@link #get(byte[])} but copies the value to <code>out</code> as it is read from
+   * the socket, instead of allocating a byte[] holding the whole value. Useful for large values.
+   * @param key
+   * @param out
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final byte[] key, final OutputStream out) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #get(byte[])} but copies the value to <code>out</code> as it is read from
+   * the socket, instead of allocating a byte[] holding the whole value. Useful for large values.
+   * @param key
+   * @param out a channel in blocking mode
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final byte[] key, final WritableByteChannel out) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #get(byte[])} but copies the value into <code>dst</code>. If the value
+   * does not fit into the remaining space of the buffer a {@link JedisDataException} is thrown and
+   * the buffer is left untouched.
+   * @param key
+   * @param dst
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final byte[] key, final ByteBuffer dst) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(dst);
+  }
+
   /**
    * Get the value of key and delete the key. This command is similar to GET, except for the fact
    * that it also deletes the key on success (if and only if the key's value type is a string).
@@ -904,6 +983,20 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Works same as {@link #setex(byte[], long, byte[])} but the value is streamed to the socket
+   * while the command is written.
+   * @param key
+   * @param seconds
+   * @param value
+   * @return Status code reply
+   */
+  public String setexStreamed(final byte[] key, final long seconds, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.setexStreamed(key, seconds, value);
+    return client.getStatusCodeReply();
+  }
+
   /**
    * Set the the respective keys to the respective values. MSET will replace old values with new
    * values, while {@link BinaryJedis#msetnx(byte[]...) MSETNX} will not perform any operation at all even if
@@ -1136,6 +1229,20 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     return client.getIntegerReply();
   }
 
+  /**
+   * Works same as {@link #hset(byte[], byte[], byte[])} but the value is streamed to the socket
+   * while the command is written.
+   * @param key
+   * @param field
+   * @param value
+   * @return 1 if a new field was created, 0 if an existing field was updated
+   */
+  public long hsetStreamed(final byte[] key, final byte[] field, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.hsetStreamed(key, field, value);
+    return client.getIntegerReply();
+  }
+
   @Override
   public long hset(final byte[] key, final Map<byte[], byte[]> hash) {
     checkIsInMultiOrPipeline();
@@ -1156,10 +1263,58 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   @Override
   public byte[] hget(final byte[] key, final byte[] field) {
     checkIsInMultiOrPipeline();
+    if (nearCache != null) {
+      // the cached array is shared by every client of the cache
+      final byte[] value = nearCacheHget(key, field);
+      return value == null ? null : value.clone();
+    }
     client.hget(key, field);
     return client.getBinaryBulkReply();
   }
 
+  /**
+   * Works same as {@link #hget(byte[], byte[])} but copies the value to <code>out</code> as it is
+   * read from the socket, instead of allocating a byte[] holding the whole value.
+   * @param key
+   * @param field
+   * @param out
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final byte[] key, final byte[] field, final OutputStream out) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #hget(byte[], byte[])} but copies the value to <code>out</code> as it is
+   * read from the socket, instead of allocating a byte[] holding the whole value.
+   * @param key
+   * @param field
+   * @param out a channel in blocking mode
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final byte[] key, final byte[] field, final WritableByteChannel out) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #hget(byte[], byte[])} but copies the value into <code>dst</code>. If the
+   * value does not fit into the remaining space of the buffer a {@link JedisDataException} is
+   * thrown and the buffer is left untouched.
+   * @param key
+   * @param field
+   * @param dst
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final byte[] key, final byte[] field, final ByteBuffer dst) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(dst);
+  }
+
   /**
    * Set the specified hash field to the specified value if the field not exists. <b>Time
    * complexity:</b> O(1)
@@ -1340,7 +1495,7 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   public Map<byte[], byte[]> hgetAll(final byte[] key) {
     checkIsInMultiOrPipeline();
     client.hgetAll(key);
-    return BuilderFactory.BYTE_ARRAY_MAP.build(client.getBinaryMultiBulkReply());
+    return client.getReply(BuilderFactory.BYTE_ARRAY_MAP);
   }
 
   /**
@@ -2724,6 +2879,108 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Switch the connection to the given protocol version. After HELLO 3 the server sends RESP3
+   * replies, which {@link Protocol} parses natively.
+   * @param protocol
+   * @return the server properties, like server, version, proto, id, mode and role
+   */
+  public Map<String, Object> hello(final RedisProtocol protocol) {
+    checkIsInMultiOrPipeline();
+    client.hello(protocol);
+    return BuilderFactory.ENCODED_OBJECT_MAP.build(client.getOne());
+  }
+
+  /**
+   * Works same as {@link #hello(RedisProtocol)} but also authenticates and sets the connection
+   * name, if <code>password</code> and <code>clientName</code> are not null.
+   * @param protocol
+   * @param user the ACL user, "default" if null
+   * @param password
+   * @param clientName
+   * @return the server properties, like server, version, proto, id, mode and role
+   */
+  public Map<String, Object> hello(final RedisProtocol protocol, final String user,
+      final String password, final String clientName) {
+    checkIsInMultiOrPipeline();
+    client.hello(protocol, user, password, clientName);
+    return BuilderFactory.ENCODED_OBJECT_MAP.build(client.getOne());
+  }
+
+  /**
+   * @return the near cache GET and HGET read through, or null
+   */
+  public NearCache getNearCache() {
+    return nearCache;
+  }
+
+  /**
+   * @return the array held by the cache, which must not be modified nor handed out
+   */
+  protected byte[] nearCacheGet(final byte[] key) {
+    if (!prepareNearCache()) {
+      client.get(key);
+      return client.getBinaryBulkReply();
+    }
+    return nearCache.get(nearCacheListener, key, () -> {
+      client.get(key);
+      return client.getBinaryBulkReply();
+    });
+  }
+
+  /**
+   * @return the array held by the cache, which must not be modified nor handed out
+   */
+  protected byte[] nearCacheHget(final byte[] key, final byte[] field) {
+    if (!prepareNearCache()) {
+      client.hget(key, field);
+      return client.getBinaryBulkReply();
+    }
+    return nearCache.hget(nearCacheListener, key, field, () -> {
+      client.hget(key, field);
+      return client.getBinaryBulkReply();
+    });
+  }
+
+  /**
+   * Makes sure the server reports changes of the keys read on this connection to the near cache.
+   * @return false if the cache can't be used right now, e.g. its invalidation connection is down
+   */
+  private boolean prepareNearCache() {
+    if (nearCache.isClosed() || client.getDB() != nearCacheConfig.getDatabase()) {
+      return false;
+    }
+    if (nearCacheListener == null) {
+      nearCacheListener = nearCache.getListener(new HostAndPort(client.getHost(), client.getPort()),
+        nearCacheConfig);
+      if (nearCacheListener == null) {
+        return false;
+      }
+    }
+    // the server side client of a new connection is not tracking yet
+    client.connect();
+    if (client.getSocket() != nearCacheSocket) {
+      nearCacheGeneration = -1;
+    }
+    final int generation = nearCacheListener.getGeneration();
+    final long redirectClientId = nearCacheListener.getClientId();
+    if (redirectClientId < 0) {
+      return false;
+    }
+    if (generation != nearCacheGeneration) {
+      try {
+        client.clientTrackingOn(redirectClientId);
+        client.getStatusCodeReply();
+      } catch (JedisDataException e) {
+        // the subscriber went away in the meantime
+        return false;
+      }
+      nearCacheGeneration = generation;
+      nearCacheSocket = client.getSocket();
+    }
+    return true;
+  }
+
   public Pipeline pipelined() {
     pipeline = new Pipeline();
     pipeline.setClient(client);
@@ -3018,7 +3275,7 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
   }
 
   protected Set<Tuple> getTupledSet() {
-    List<byte[]> membersWithScores = client.getBinaryMultiBulkReply();
+    Set<Tuple> membersWithScores = client.getReply(BuilderFactory.TUPLE_ZSET);
     // If response from Redis nil, we should return null.
     if (membersWithScores == null) {
       return null;
@@ -3026,12 +3283,7 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     if (membersWithScores.isEmpty()) {
       return Collections.emptySet();
     }
-    Set<Tuple> set = new LinkedHashSet<>(membersWithScores.size() / 2, 1.0f);
-    Iterator<byte[]> iterator = membersWithScores.iterator();
-    while (iterator.hasNext()) {
-      set.add(new Tuple(iterator.next(), BuilderFactory.DOUBLE.build(iterator.next())));
-    }
-    return set;
+    return membersWithScores;
   }
 
   @Override
@@ -4780,6 +5032,22 @@ public class BinaryJedis implements BasicCommands, BinaryJedisCommands, MultiKey
     return client.getBinaryBulkReply();
   }
 
+  /**
+   * XADD key id field value, where the value is streamed to the socket while the command is
+   * written.
+   * @param key
+   * @param id
+   * @param field
+   * @param value
+   * @return the ID of the added entry
+   */
+  public byte[] xaddStreamed(final byte[] key, final byte[] id, final byte[] field,
+      final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.xaddStreamed(key, id, field, value);
+    return client.getBinaryBulkReply();
+  }
+
   @Override
   public byte[] xadd(final byte[] key, final Map<byte[], byte[]> hash, final XAddParams params) {
     checkIsInMultiOrPipeline();
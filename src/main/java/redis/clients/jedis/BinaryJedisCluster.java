@@ -6,12 +6,16 @@ import redis.clients.jedis.commands.JedisClusterBinaryScriptingCommands;
 import redis.clients.jedis.commands.MultiKeyBinaryJedisClusterCommands;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.params.*;
+import redis.clients.jedis.util.JedisClusterCRC16;
 import redis.clients.jedis.util.JedisClusterHashTagUtil;
 import redis.clients.jedis.util.KeyMergeUtil;
 import redis.clients.jedis.util.SafeEncoder;
 
 import java.io.Closeable;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -135,6 +139,167 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
     return this.connectionHandler.getConnectionFromSlot(slot);
   }
 
+  /**
+   * Renews the slot cache on a background thread every <code>period</code>, and soon after a
+   * redirection or a connection failure, at most once per <code>minInterval</code>. Requests then
+   * follow redirections without waiting for CLUSTER SLOTS.
+   */
+  public void enableTopologyRefresh(Duration period, Duration minInterval) {
+    connectionHandler.enableTopologyRefresh(period, minInterval);
+  }
+
+  /**
+   * Stops sending requests to a node after <code>failureThreshold</code> consecutive connection
+   * failures: they fail at once, without using up their attempts, until a request let through after
+   * <code>openDuration</code> succeeds. The slot cache is renewed when a node is given up on that way
+   * rather than after every two connection failures.
+   */
+  public void enableCircuitBreaker(int failureThreshold, Duration openDuration) {
+    connectionHandler.enableCircuitBreaker(failureThreshold, openDuration);
+  }
+
+  /**
+   * @param pool a pool of {@link #getClusterNodes()}
+   */
+  public ClusterNodeHealth getNodeHealth(JedisPool pool) {
+    return connectionHandler.getNodeHealth(pool);
+  }
+
+  public ReadFrom getReadFrom() {
+    return connectionHandler.getReadFrom();
+  }
+
+  /**
+   * Chooses the nodes that single key reads, such as GET or HGETALL, are sent to. Reads from
+   * replicas spread the load of the masters, at the cost of possibly stale data.
+   */
+  public void setReadFrom(ReadFrom readFrom) {
+    connectionHandler.setReadFrom(readFrom);
+  }
+
+  /**
+   * @return a pipeline that sends each command to the node serving its key
+   */
+  public JedisClusterPipeline pipelined() {
+    return new JedisClusterPipeline(connectionHandler, maxAttempts);
+  }
+
+  /**
+   * Like {@link #mget(byte[]...)}, for keys of any slots. One MGET per slot is pipelined to the
+   * nodes, the nodes working on their share at the same time.
+   * @return the values, in the order of <code>keys</code>
+   */
+  public List<byte[]> mgetCrossSlot(final byte[]... keys) {
+    final byte[][] values = new byte[keys.length][];
+    for (CrossSlotReply reply : runCrossSlot(Protocol.Command.MGET, 1, keys)) {
+      final List<byte[]> slotValues = BuilderFactory.BYTE_ARRAY_LIST.build(reply.get());
+      for (int i = 0; i < slotValues.size(); i++) {
+        values[reply.keyIndexes.get(i)] = slotValues.get(i);
+      }
+    }
+    return Arrays.asList(values);
+  }
+
+  /**
+   * Like {@link #mset(byte[]...)}, for keys of any slots. One MSET per slot is pipelined to the
+   * nodes, so the keys are not all set at once.
+   */
+  public String msetCrossSlot(final byte[]... keysvalues) {
+    if (keysvalues.length % 2 != 0) {
+      throw new IllegalArgumentException("keysvalues must hold key and value pairs.");
+    }
+    for (CrossSlotReply reply : runCrossSlot(Protocol.Command.MSET, 2, keysvalues)) {
+      reply.get();
+    }
+    return Protocol.Keyword.OK.name();
+  }
+
+  /**
+   * Like {@link #del(byte[]...)}, for keys of any slots.
+   * @see #mgetCrossSlot(byte[]...)
+   */
+  public long delCrossSlot(final byte[]... keys) {
+    return sumCrossSlot(Protocol.Command.DEL, keys);
+  }
+
+  /**
+   * Like {@link #unlink(byte[]...)}, for keys of any slots.
+   * @see #mgetCrossSlot(byte[]...)
+   */
+  public long unlinkCrossSlot(final byte[]... keys) {
+    return sumCrossSlot(Protocol.Command.UNLINK, keys);
+  }
+
+  /**
+   * Like {@link #exists(byte[]...)}, for keys of any slots.
+   * @see #mgetCrossSlot(byte[]...)
+   */
+  public long existsCrossSlot(final byte[]... keys) {
+    return sumCrossSlot(Protocol.Command.EXISTS, keys);
+  }
+
+  /**
+   * Like {@link #touch(byte[]...)}, for keys of any slots.
+   * @see #mgetCrossSlot(byte[]...)
+   */
+  public long touchCrossSlot(final byte[]... keys) {
+    return sumCrossSlot(Protocol.Command.TOUCH, keys);
+  }
+
+  long sumCrossSlot(final ProtocolCommand command, final byte[]... keys) {
+    long sum = 0;
+    for (CrossSlotReply reply : runCrossSlot(command, 1, keys)) {
+      sum += (Long) reply.get();
+    }
+    return sum;
+  }
+
+  /**
+   * Sends <code>command</code> once per slot of the keys in <code>args</code>, through a
+   * {@link #pipelined() pipeline}. A key starts every <code>step</code> arguments, and is sent
+   * along with the arguments that follow it.
+   */
+  List<CrossSlotReply> runCrossSlot(final ProtocolCommand command, final int step,
+      final byte[]... args) {
+    final Map<Integer, List<Integer>> slots = new LinkedHashMap<>();
+    for (int i = 0; i < args.length; i += step) {
+      slots.computeIfAbsent(JedisClusterCRC16.getSlot(args[i]), slot -> new ArrayList<>())
+          .add(i / step);
+    }
+
+    final List<CrossSlotReply> replies = new ArrayList<>(slots.size());
+    try (JedisClusterPipeline pipeline = pipelined()) {
+      for (List<Integer> keyIndexes : slots.values()) {
+        final byte[][] slotArgs = new byte[keyIndexes.size() * step][];
+        for (int i = 0; i < keyIndexes.size(); i++) {
+          System.arraycopy(args, keyIndexes.get(i) * step, slotArgs, i * step, step);
+        }
+        replies.add(new CrossSlotReply(keyIndexes,
+            pipeline.sendCommand(slotArgs[0], command, slotArgs)));
+      }
+    }
+    return replies;
+  }
+
+  /**
+   * Reply of a command sent by {@link #runCrossSlot(ProtocolCommand, int, byte[]...)}, with the
+   * indexes of its keys among all the keys.
+   */
+  static final class CrossSlotReply {
+
+    final List<Integer> keyIndexes;
+    private final Response<Object> response;
+
+    CrossSlotReply(List<Integer> keyIndexes, Response<Object> response) {
+      this.keyIndexes = keyIndexes;
+      this.response = response;
+    }
+
+    Object get() {
+      return response.get();
+    }
+  }
+
   @Override
   public boolean copy(byte[] srcKey, byte[] dstKey, boolean replace) {
     return new JedisClusterCommand<Boolean>(connectionHandler, maxAttempts, maxTotalRetriesDuration) {
@@ -172,7 +337,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.get(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -212,7 +377,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Boolean execute(Jedis connection) {
         return connection.exists(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -232,7 +397,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public String execute(Jedis connection) {
         return connection.type(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -242,7 +407,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.dump(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -313,7 +478,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.ttl(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -323,7 +488,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.pttl(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -373,7 +538,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Boolean execute(Jedis connection) {
         return connection.getbit(key, offset);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -393,7 +558,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.getrange(key, startOffset, endOffset);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -503,7 +668,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.substr(key, start, end);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -533,7 +698,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.hget(key, field);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -563,7 +728,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.hmget(key, fields);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -593,7 +758,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Boolean execute(Jedis connection) {
         return connection.hexists(key, field);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -613,7 +778,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.hlen(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -623,7 +788,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.hkeys(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -633,7 +798,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.hvals(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -643,7 +808,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Map<byte[], byte[]> execute(Jedis connection) {
         return connection.hgetAll(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -653,7 +818,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.hrandfield(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -663,7 +828,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.hrandfield(key, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -673,7 +838,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Map<byte[], byte[]> execute(Jedis connection) {
         return connection.hrandfieldWithValues(key, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -703,7 +868,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.llen(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -713,7 +878,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.lrange(key, start, stop);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -733,7 +898,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.lindex(key, index);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -783,7 +948,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.lpos(key, element);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -793,7 +958,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.lpos(key, element, params);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -804,7 +969,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<Long> execute(Jedis connection) {
         return connection.lpos(key, element, params, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -844,7 +1009,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.smembers(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -884,7 +1049,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.scard(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -894,7 +1059,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Boolean execute(Jedis connection) {
         return connection.sismember(key, member);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -904,7 +1069,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<Boolean> execute(Jedis connection) {
         return connection.smismember(key, members);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -914,7 +1079,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.srandmember(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -924,7 +1089,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.strlen(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1016,7 +1181,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrange(key, start, stop);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1057,7 +1222,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zrank(key, member);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1067,7 +1232,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zrevrank(key, member);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1077,7 +1242,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrange(key, start, stop);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1087,7 +1252,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeWithScores(key, start, stop);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1097,7 +1262,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeWithScores(key, start, stop);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1107,7 +1272,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public byte[] execute(Jedis connection) {
         return connection.zrandmember(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1117,7 +1282,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrandmember(key, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1127,7 +1292,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrandmemberWithScores(key, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1137,7 +1302,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zcard(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1147,7 +1312,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Double execute(Jedis connection) {
         return connection.zscore(key, member);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1157,7 +1322,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<Double> execute(Jedis connection) {
         return connection.zmscore(key, members);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1227,7 +1392,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zcount(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1237,7 +1402,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zcount(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1247,7 +1412,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1257,7 +1422,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1267,7 +1432,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1278,7 +1443,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1288,7 +1453,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1299,7 +1464,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1310,7 +1475,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1320,7 +1485,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1330,7 +1495,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1341,7 +1506,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1352,7 +1517,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1362,7 +1527,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1372,7 +1537,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1383,7 +1548,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1394,7 +1559,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1405,7 +1570,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1517,7 +1682,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.bitcount(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1527,7 +1692,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.bitcount(key, start, end);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1547,7 +1712,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.pfcount(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1557,7 +1722,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.srandmember(key, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1567,7 +1732,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.zlexcount(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1577,7 +1742,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByLex(key, min, max);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1588,7 +1753,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrangeByLex(key, min, max, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1598,7 +1763,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByLex(key, max, min);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -1609,7 +1774,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Set<byte[]> execute(Jedis connection) {
         return connection.zrevrangeByLex(key, max, min, offset, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2204,7 +2369,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Double execute(Jedis connection) {
         return connection.geodist(key, member1, member2);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2215,7 +2380,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Double execute(Jedis connection) {
         return connection.geodist(key, member1, member2, unit);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2225,7 +2390,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.geohash(key, members);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2235,7 +2400,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<GeoCoordinate> execute(Jedis connection) {
         return connection.geopos(key, members);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2257,7 +2422,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusReadonly(key, longitude, latitude, radius, unit);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2292,7 +2457,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusReadonly(key, longitude, latitude, radius, unit, param);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2314,7 +2479,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusByMemberReadonly(key, member, radius, unit);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2348,7 +2513,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusByMemberReadonly(key, member, radius, unit, param);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2415,7 +2580,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<Map.Entry<byte[], byte[]>> execute(Jedis connection) {
         return connection.hscan(key, cursor);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2427,7 +2592,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<Map.Entry<byte[], byte[]>> execute(Jedis connection) {
         return connection.hscan(key, cursor, params);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2437,7 +2602,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<byte[]> execute(Jedis connection) {
         return connection.sscan(key, cursor);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2447,7 +2612,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<byte[]> execute(Jedis connection) {
         return connection.sscan(key, cursor, params);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2457,7 +2622,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<Tuple> execute(Jedis connection) {
         return connection.zscan(key, cursor);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2467,7 +2632,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public ScanResult<Tuple> execute(Jedis connection) {
         return connection.zscan(key, cursor, params);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2487,7 +2652,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<Long> execute(Jedis connection) {
         return connection.bitfieldReadonly(key, arguments);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2497,7 +2662,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.hstrlen(key, field);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2507,7 +2672,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.memoryUsage(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2517,7 +2682,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.memoryUsage(key, samples);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2548,7 +2713,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public Long execute(Jedis connection) {
         return connection.xlen(key);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2558,7 +2723,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.xrange(key, start, end);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2569,7 +2734,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.xrange(key, start, end, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2579,7 +2744,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.xrange(key, start, end, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2589,7 +2754,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.xrevrange(key, end, start);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
@@ -2600,7 +2765,7 @@ public class BinaryJedisCluster implements BinaryJedisClusterCommands,
       public List<byte[]> execute(Jedis connection) {
         return connection.xrevrange(key, end, start, count);
       }
-    }.runBinary(key);
+    }.runBinaryReadOnly(key);
   }
 
   @Override
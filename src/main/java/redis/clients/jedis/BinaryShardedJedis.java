@@ -75,6 +75,12 @@ public class BinaryShardedJedis extends Sharded<Jedis, JedisShardInfo> implement
     return new Jedis(shard);
   }
 
+  public ShardedJedisPipeline pipelined() {
+    ShardedJedisPipeline pipeline = new ShardedJedisPipeline();
+    pipeline.setShardedJedis(this);
+    return pipeline;
+  }
+
   @Override
   public String set(final byte[] key, final byte[] value) {
     Jedis j = getShard(key);
@@ -2,4 +2,13 @@ package redis.clients.jedis;
 
 public abstract class Builder<T> {
   public abstract T build(Object data);
+
+  /**
+   * Builders that can consume a reply while it is parsed return a new handler for every reply, see
+   * {@link Connection#getReply(Builder)}.
+   * @return a handler producing the same result as {@link #build(Object)}, or null
+   */
+  public ReplyHandler<T> newReplyHandler() {
+    return null;
+  }
 }
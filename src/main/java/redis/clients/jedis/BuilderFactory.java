@@ -2,6 +2,7 @@ package redis.clients.jedis;
 
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -10,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.resps.*;
 import redis.clients.jedis.util.JedisByteHashMap;
 import redis.clients.jedis.util.SafeEncoder;
@@ -68,6 +70,35 @@ public final class BuilderFactory {
     }
   };
 
+  public static final Builder<Map<String, Object>> ENCODED_OBJECT_MAP = new Builder<Map<String, Object>>() {
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> build(Object data) {
+      if (data == null) {
+        return null;
+      }
+      final List<Object> list = (List<Object>) data;
+      final Map<String, Object> map = new HashMap<>(list.size(), 1);
+      if (isMapReply(list)) {
+        for (Object entry : list) {
+          Map.Entry<Object, Object> kv = (Map.Entry<Object, Object>) entry;
+          map.put(STRING.build(kv.getKey()), ENCODED_OBJECT.build(kv.getValue()));
+        }
+        return map;
+      }
+      final Iterator<Object> iterator = list.iterator();
+      while (iterator.hasNext()) {
+        map.put(STRING.build(iterator.next()), ENCODED_OBJECT.build(iterator.next()));
+      }
+      return map;
+    }
+
+    @Override
+    public String toString() {
+      return "Map<String, Object>";
+    }
+  };
+
   public static final Builder<Long> LONG = new Builder<Long>() {
     @Override
     public Long build(Object data) {
@@ -101,6 +132,9 @@ public final class BuilderFactory {
   public static final Builder<Double> DOUBLE = new Builder<Double>() {
     @Override
     public Double build(Object data) {
+      if (data instanceof Double) {
+        return (Double) data;
+      }
       String string = STRING.build(data);
       if (string == null) return null;
       try {
@@ -125,9 +159,9 @@ public final class BuilderFactory {
       if (null == data) {
         return null;
       }
-      List<byte[]> values = (List<byte[]>) data;
+      List<Object> values = (List<Object>) data;
       List<Double> doubles = new ArrayList<>(values.size());
-      for (byte[] value : values) {
+      for (Object value : values) {
         doubles.add(DOUBLE.build(value));
       }
       return doubles;
@@ -142,6 +176,9 @@ public final class BuilderFactory {
   public static final Builder<Boolean> BOOLEAN = new Builder<Boolean>() {
     @Override
     public Boolean build(Object data) {
+      if (data instanceof Boolean) {
+        return (Boolean) data;
+      }
       return ((Long) data) == 1L;
     }
 
@@ -158,10 +195,10 @@ public final class BuilderFactory {
       if (null == data) {
         return null;
       }
-      List<Long> longs = (List<Long>) data;
-      List<Boolean> booleans = new ArrayList<>(longs.size());
-      for (Long value : longs) {
-        booleans.add(value == 1L);
+      List<Object> values = (List<Object>) data;
+      List<Boolean> booleans = new ArrayList<>(values.size());
+      for (Object value : values) {
+        booleans.add(value == null ? null : BOOLEAN.build(value));
       }
       return booleans;
     }
@@ -191,7 +228,7 @@ public final class BuilderFactory {
       if (null == data) {
         return null;
       }
-      return (List<byte[]>) data;
+      return (List<byte[]>) flattenMapReply((List<?>) data);
     }
 
     @Override
@@ -228,8 +265,14 @@ public final class BuilderFactory {
     @Override
     @SuppressWarnings("unchecked")
     public Map<byte[], byte[]> build(Object data) {
-      final List<byte[]> flatHash = (List<byte[]>) data;
       final Map<byte[], byte[]> hash = new JedisByteHashMap();
+      if (isMapReply((List<?>) data)) {
+        for (Map.Entry<byte[], byte[]> entry : (List<Map.Entry<byte[], byte[]>>) data) {
+          hash.put(entry.getKey(), entry.getValue());
+        }
+        return hash;
+      }
+      final List<byte[]> flatHash = (List<byte[]>) data;
       final Iterator<byte[]> iterator = flatHash.iterator();
       while (iterator.hasNext()) {
         hash.put(iterator.next(), iterator.next());
@@ -238,6 +281,11 @@ public final class BuilderFactory {
       return hash;
     }
 
+    @Override
+    public ReplyHandler<Map<byte[], byte[]>> newReplyHandler() {
+      return new ByteArrayMapHandler();
+    }
+
     @Override
     public String toString() {
       return "Map<byte[], byte[]>";
@@ -248,7 +296,11 @@ public final class BuilderFactory {
   public static final Builder<String> STRING = new Builder<String>() {
     @Override
     public String build(Object data) {
-      return data == null ? null : SafeEncoder.encode((byte[]) data);
+      if (data == null || data instanceof String) {
+        // status replies read by Protocol.readDecodingStatus
+        return (String) data;
+      }
+      return SafeEncoder.encode((byte[]) data);
     }
 
     @Override
@@ -265,7 +317,7 @@ public final class BuilderFactory {
       if (null == data) {
         return null;
       }
-      List<byte[]> l = (List<byte[]>) data;
+      List<byte[]> l = (List<byte[]>) flattenMapReply((List<?>) data);
       final ArrayList<String> result = new ArrayList<>(l.size());
       for (final byte[] barray : l) {
         if (barray == null) {
@@ -340,6 +392,14 @@ public final class BuilderFactory {
     @Override
     @SuppressWarnings("unchecked")
     public Map<String, String> build(Object data) {
+      if (isMapReply((List<?>) data)) {
+        final List<Map.Entry<byte[], byte[]>> entries = (List<Map.Entry<byte[], byte[]>>) data;
+        final Map<String, String> hash = new HashMap<>(entries.size(), 1);
+        for (Map.Entry<byte[], byte[]> entry : entries) {
+          hash.put(SafeEncoder.encode(entry.getKey()), SafeEncoder.encode(entry.getValue()));
+        }
+        return hash;
+      }
       final List<byte[]> flatHash = (List<byte[]>) data;
       final Map<String, String> hash = new HashMap<>(flatHash.size() / 2, 1);
       final Iterator<byte[]> iterator = flatHash.iterator();
@@ -350,6 +410,11 @@ public final class BuilderFactory {
       return hash;
     }
 
+    @Override
+    public ReplyHandler<Map<String, String>> newReplyHandler() {
+      return new StringMapHandler();
+    }
+
     @Override
     public String toString() {
       return "Map<String, String>";
@@ -414,6 +479,15 @@ public final class BuilderFactory {
       if (null == data) {
         return null;
       }
+      if (!((List<Object>) data).isEmpty() && ((List<Object>) data).get(0) instanceof List) {
+        // RESP3 replies with a [member, score] pair per element
+        final List<List<Object>> pairs = (List<List<Object>>) data;
+        final Set<Tuple> result = new LinkedHashSet<>(pairs.size(), 1);
+        for (List<Object> pair : pairs) {
+          result.add(new Tuple((byte[]) pair.get(0), DOUBLE.build(pair.get(1))));
+        }
+        return result;
+      }
       List<byte[]> l = (List<byte[]>) data;
       final Set<Tuple> result = new LinkedHashSet<>(l.size() / 2, 1);
       Iterator<byte[]> iterator = l.iterator();
@@ -423,6 +497,11 @@ public final class BuilderFactory {
       return result;
     }
 
+    @Override
+    public ReplyHandler<Set<Tuple>> newReplyHandler() {
+      return new TupleZSetHandler();
+    }
+
     @Override
     public String toString() {
       return "ZSet<Tuple>";
@@ -796,6 +875,11 @@ public final class BuilderFactory {
       return responses;
     }
 
+    @Override
+    public ReplyHandler<List<StreamEntry>> newReplyHandler() {
+      return new StreamEntryListHandler();
+    }
+
     @Override
     public String toString() {
       return "List<StreamEntry>";
@@ -1079,8 +1163,315 @@ public final class BuilderFactory {
 
   // <-- Stream Builders
 
+  /**
+   * Builds a map from a flat key, value, key, value... reply, or from a RESP3 map.
+   */
+  private abstract static class FlatMapHandler<K, V> implements ReplyHandler<Map<K, V>> {
+
+    private int depth;
+    private Map<K, V> map;
+    private K key;
+    private boolean keyRead;
+
+    abstract Map<K, V> newMap(int entries);
+
+    abstract K key(byte[] buf, int offset, int length);
+
+    abstract V value(byte[] buf, int offset, int length);
+
+    @Override
+    public void onArrayStart(int length) {
+      if (depth++ > 0) {
+        throw new JedisDataException("Unexpected nested reply in a map reply");
+      }
+      map = newMap(length / 2);
+    }
+
+    @Override
+    public void onArrayEnd() {
+      depth--;
+    }
+
+    @Override
+    public void onBulk(byte[] buf, int offset, int length) {
+      if (!keyRead) {
+        key = key(buf, offset, length);
+        keyRead = true;
+      } else {
+        map.put(key, value(buf, offset, length));
+        keyRead = false;
+      }
+    }
+
+    @Override
+    public void onNull() {
+      if (depth == 0) {
+        return;
+      }
+      if (!keyRead) {
+        key = null;
+        keyRead = true;
+      } else {
+        map.put(key, null);
+        keyRead = false;
+      }
+    }
+
+    @Override
+    public Map<K, V> getResult() {
+      return map;
+    }
+  }
+
+  private static final class StringMapHandler extends FlatMapHandler<String, String> {
+
+    @Override
+    Map<String, String> newMap(int entries) {
+      return new HashMap<>(entries, 1);
+    }
+
+    @Override
+    String key(byte[] buf, int offset, int length) {
+      return SafeEncoder.encode(buf, offset, length);
+    }
+
+    @Override
+    String value(byte[] buf, int offset, int length) {
+      return SafeEncoder.encode(buf, offset, length);
+    }
+  }
+
+  private static final class ByteArrayMapHandler extends FlatMapHandler<byte[], byte[]> {
+
+    @Override
+    Map<byte[], byte[]> newMap(int entries) {
+      return new JedisByteHashMap();
+    }
+
+    @Override
+    byte[] key(byte[] buf, int offset, int length) {
+      return Arrays.copyOfRange(buf, offset, offset + length);
+    }
+
+    @Override
+    byte[] value(byte[] buf, int offset, int length) {
+      return Arrays.copyOfRange(buf, offset, offset + length);
+    }
+  }
+
+  /**
+   * Builds tuples from a flat member, score, member, score... reply, or from the [member, score]
+   * pairs sent by RESP3.
+   */
+  private static final class TupleZSetHandler implements ReplyHandler<Set<Tuple>> {
+
+    private int depth;
+    private int length;
+    private Set<Tuple> result;
+    private byte[] member;
+
+    @Override
+    public void onArrayStart(int length) {
+      if (depth == 0) {
+        this.length = length;
+      } else if (depth == 1 && result == null) {
+        // one pair per element
+        result = new LinkedHashSet<>(this.length, 1);
+      } else if (depth > 1) {
+        throw new JedisDataException("Unexpected nested reply in a sorted set reply");
+      }
+      depth++;
+    }
+
+    @Override
+    public void onArrayEnd() {
+      depth--;
+    }
+
+    @Override
+    public void onBulk(byte[] buf, int offset, int length) {
+      if (member == null) {
+        member = Arrays.copyOfRange(buf, offset, offset + length);
+      } else {
+        add(parseDouble(buf, offset, length));
+      }
+    }
+
+    @Override
+    public void onDouble(double value) {
+      add(value);
+    }
+
+    private void add(double score) {
+      if (result == null) {
+        result = new LinkedHashSet<>(length / 2, 1);
+      }
+      result.add(new Tuple(member, score));
+      member = null;
+    }
+
+    @Override
+    public void onNull() {
+      if (depth > 0) {
+        throw new JedisDataException("Unexpected nil in a sorted set reply");
+      }
+      length = -1;
+    }
+
+    @Override
+    public Set<Tuple> getResult() {
+      if (length == -1) {
+        return null;
+      }
+      return result != null ? result : new LinkedHashSet<Tuple>(0);
+    }
+  }
+
+  /**
+   * Builds stream entries from [[id, [field, value, ...]], ...] replies.
+   */
+  private static final class StreamEntryListHandler implements ReplyHandler<List<StreamEntry>> {
+
+    private int depth;
+    private List<StreamEntry> entries;
+    private StreamEntryID id;
+    private Map<String, String> fields;
+    private String field;
+    private boolean fieldRead;
+
+    @Override
+    public void onArrayStart(int length) {
+      switch (depth) {
+      case 0:
+        entries = new ArrayList<>(length);
+        break;
+      case 1:
+        id = null;
+        fields = null;
+        break;
+      case 2:
+        fields = new HashMap<>(length / 2);
+        break;
+      default:
+        throw new JedisDataException("Unexpected nested reply in a stream entry");
+      }
+      depth++;
+    }
+
+    @Override
+    public void onArrayEnd() {
+      if (--depth == 1) {
+        entries.add(new StreamEntry(id, fields));
+      }
+    }
+
+    @Override
+    public void onBulk(byte[] buf, int offset, int length) {
+      if (depth == 2) {
+        id = new StreamEntryID(SafeEncoder.encode(buf, offset, length));
+      } else if (!fieldRead) {
+        field = SafeEncoder.encode(buf, offset, length);
+        fieldRead = true;
+      } else {
+        fields.put(field, SafeEncoder.encode(buf, offset, length));
+        fieldRead = false;
+      }
+    }
+
+    @Override
+    public void onNull() {
+      switch (depth) {
+      case 0:
+        break;
+      case 1:
+        entries.add(null);
+        break;
+      case 2:
+        // the entry was deleted, it has no fields
+        break;
+      default:
+        if (!fieldRead) {
+          field = null;
+          fieldRead = true;
+        } else {
+          fields.put(field, null);
+          fieldRead = false;
+        }
+      }
+    }
+
+    @Override
+    public List<StreamEntry> getResult() {
+      return entries;
+    }
+  }
+
+  private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+      1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+  /**
+   * Parses a score without creating a String for the common case of at most 15 significant digits,
+   * where dividing the exact mantissa by an exact power of ten gives the correctly rounded result.
+   */
+  private static double parseDouble(byte[] buf, int offset, int length) {
+    final int end = offset + length;
+    int pos = offset;
+    final boolean negative = pos < end && buf[pos] == '-';
+    if (negative || pos < end && buf[pos] == '+') {
+      pos++;
+    }
+    long mantissa = 0;
+    int read = 0;
+    int digits = 0;
+    int scale = -1;
+    for (; pos < end; pos++) {
+      final byte b = buf[pos];
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        read++;
+        if (mantissa != 0 && ++digits > 15) {
+          break;
+        }
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if (b == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        break;
+      }
+    }
+    if (pos < end || read == 0 || scale > 22) {
+      return DOUBLE.build(Arrays.copyOfRange(buf, offset, end));
+    }
+    final double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+    return negative ? -value : value;
+  }
+
   private BuilderFactory() {
     throw new InstantiationError("Must not instantiate this class");
   }
 
+  /**
+   * RESP3 map replies are parsed into a list of {@link Map.Entry}, see {@link Protocol}.
+   */
+  private static boolean isMapReply(List<?> data) {
+    return !data.isEmpty() && data.get(0) instanceof Map.Entry;
+  }
+
+  /**
+   * Turns a RESP3 map reply into the flat key, value, key, value... list that RESP2 sends.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<?> flattenMapReply(List<?> data) {
+    if (!isMapReply(data)) {
+      return data;
+    }
+    final List<Object> flat = new ArrayList<>(data.size() * 2);
+    for (Object entry : data) {
+      flat.add(((Map.Entry<Object, Object>) entry).getKey());
+      flat.add(((Map.Entry<Object, Object>) entry).getValue());
+    }
+    return flat;
+  }
 }
@@ -11,6 +11,7 @@ import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 
 import redis.clients.jedis.args.ListDirection;
+import redis.clients.jedis.args.StreamedValue;
 import redis.clients.jedis.commands.Commands;
 import redis.clients.jedis.params.*;
 import redis.clients.jedis.util.SafeEncoder;
@@ -81,6 +82,10 @@ public class Client extends BinaryClient implements Commands {
     set(SafeEncoder.encode(key), SafeEncoder.encode(value));
   }
 
+  public void setStreamed(final String key, final StreamedValue value) {
+    setStreamed(SafeEncoder.encode(key), value);
+  }
+
   @Override
   public void set(final String key, final String value, final SetParams params) {
     set(SafeEncoder.encode(key), SafeEncoder.encode(value), params);
@@ -181,6 +186,10 @@ public class Client extends BinaryClient implements Commands {
     setex(SafeEncoder.encode(key), seconds, SafeEncoder.encode(value));
   }
 
+  public void setexStreamed(final String key, final long seconds, final StreamedValue value) {
+    setexStreamed(SafeEncoder.encode(key), seconds, value);
+  }
+
   @Override
   public void mset(final String... keysvalues) {
     mset(SafeEncoder.encodeMany(keysvalues));
@@ -226,6 +235,10 @@ public class Client extends BinaryClient implements Commands {
     hset(SafeEncoder.encode(key), SafeEncoder.encode(field), SafeEncoder.encode(value));
   }
 
+  public void hsetStreamed(final String key, final String field, final StreamedValue value) {
+    hsetStreamed(SafeEncoder.encode(key), SafeEncoder.encode(field), value);
+  }
+
   @Override
   public void hset(final String key, final Map<String, String> hash) {
     final Map<byte[], byte[]> bhash = new HashMap<>(hash.size());
@@ -1430,6 +1443,12 @@ public class Client extends BinaryClient implements Commands {
       encodeStringMap(hash), maxLen, approximateLength);
   }
 
+  public void xaddStreamed(final String key, final StreamEntryID id, final String field,
+      final StreamedValue value) {
+    xaddStreamed(SafeEncoder.encode(key), SafeEncoder.encode(id == null ? "*" : id.toString()),
+      SafeEncoder.encode(field), value);
+  }
+
   @Override
   public void xadd(final String key, final Map<String, String> hash, final XAddParams params) {
     xadd(SafeEncoder.encode(key), encodeStringMap(hash), params);
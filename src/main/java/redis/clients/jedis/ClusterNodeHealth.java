@@ -0,0 +1,102 @@
+package redis.clients.jedis;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Successes, failures and latency of the requests sent to one cluster node, and the state of its
+ * circuit breaker. The circuit opens after a number of consecutive connection failures; while it is
+ * open requests to the node fail at once. A single request is let through every time it has been
+ * open for a while, which closes the circuit if it succeeds.
+ */
+public class ClusterNodeHealth {
+
+  private final LongAdder successes = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+  /**
+   * Moving average of the round trips, in nanoseconds, 0 until the first one.
+   */
+  private final AtomicLong latency = new AtomicLong();
+
+  private volatile boolean open;
+  /**
+   * When the next request is let through the open circuit.
+   */
+  private final AtomicLong probeAt = new AtomicLong();
+  /**
+   * When a failure through the open circuit has the slot cache renewed again.
+   */
+  private final AtomicLong renewAt = new AtomicLong();
+
+  /**
+   * @return whether a request may be sent to the node now; true for a single caller per
+   * <code>openNanos</code> while the circuit is open
+   */
+  boolean allowRequest(long openNanos) {
+    if (!open) {
+      return true;
+    }
+    final long at = probeAt.get();
+    final long now = System.nanoTime();
+    return now - at >= 0 && probeAt.compareAndSet(at, now + openNanos);
+  }
+
+  void recordSuccess(long nanos) {
+    successes.increment();
+    recordLatency(nanos);
+    consecutiveFailures.set(0);
+    open = false;
+  }
+
+  void recordLatency(long nanos) {
+    latency.accumulateAndGet(nanos,
+      (average, sample) -> average == 0 ? sample : average + (sample - average) / 8);
+  }
+
+  /**
+   * @return true if this failure opened the circuit, or if it happened while the circuit was open,
+   * at most once per <code>openNanos</code>: the slot cache should then be renewed, in case another
+   * node took over the slots of this one
+   */
+  boolean recordFailure(int failureThreshold, long openNanos) {
+    failures.increment();
+    final long now = System.nanoTime();
+    if (consecutiveFailures.incrementAndGet() == failureThreshold && !open) {
+      probeAt.set(now + openNanos);
+      renewAt.set(now + openNanos);
+      open = true;
+      return true;
+    }
+    if (!open) {
+      return false;
+    }
+    final long at = renewAt.get();
+    return now - at >= 0 && renewAt.compareAndSet(at, now + openNanos);
+  }
+
+  public long getSuccessCount() {
+    return successes.sum();
+  }
+
+  public long getFailureCount() {
+    return failures.sum();
+  }
+
+  public int getConsecutiveFailures() {
+    return consecutiveFailures.get();
+  }
+
+  /**
+   * @return moving average of the round trips to the node in nanoseconds, 0 if none was measured
+   */
+  public long getAverageLatencyNanos() {
+    return latency.get();
+  }
+
+  public boolean isOpen() {
+    return open;
+  }
+}
@@ -0,0 +1,99 @@
+package redis.clients.jedis;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Renews the slot cache of a cluster on a background thread: every <code>period</code>, and soon
+ * after {@link #trigger()}, which requests call on a redirection or a connection failure instead of
+ * renewing the cache themselves. Triggers are debounced: the cache is renewed at most once per
+ * <code>minInterval</code> on their account, however many requests call them.
+ */
+public class ClusterTopologyRefresher implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClusterTopologyRefresher.class);
+
+  private final JedisClusterInfoCache cache;
+  private final long minIntervalNanos;
+  private final ScheduledExecutorService executor;
+
+  private final AtomicBoolean triggered = new AtomicBoolean();
+  private volatile long lastRefresh;
+  private final LongAdder refreshes = new LongAdder();
+
+  public ClusterTopologyRefresher(JedisClusterInfoCache cache, Duration period,
+      Duration minInterval) {
+    if (period.isNegative() || period.isZero()) {
+      throw new IllegalArgumentException("period must be positive");
+    }
+    this.cache = cache;
+    this.minIntervalNanos = minInterval.toNanos();
+    this.lastRefresh = System.nanoTime() - minIntervalNanos;
+    this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "jedis-cluster-topology-refresh");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleWithFixedDelay(this::refresh, period.toNanos(), period.toNanos(),
+      TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Has the slot cache renewed as soon as <code>minInterval</code> has passed since the last
+   * renewal, unless a renewal is already due. Returns at once.
+   */
+  public void trigger() {
+    if (triggered.compareAndSet(false, true)) {
+      long delay = lastRefresh + minIntervalNanos - System.nanoTime();
+      try {
+        executor.schedule(() -> {
+          triggered.set(false);
+          refresh();
+        }, Math.max(0, delay), TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // closed
+      }
+    }
+  }
+
+  private void refresh() {
+    lastRefresh = System.nanoTime();
+    refreshes.increment();
+    try {
+      cache.renewClusterSlots(null);
+    } catch (RuntimeException e) {
+      // the next period tries again
+      LOG.debug("Failed renewing the slot cache", e);
+    }
+  }
+
+  /**
+   * @return number of times the slot cache was renewed
+   */
+  public long getRefreshCount() {
+    return refreshes.sum();
+  }
+
+  /**
+   * Stops the refresher, waiting for a renewal in progress to end, so that it does not set up the
+   * pools of a cache that is being reset.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -2,15 +2,20 @@ package redis.clients.jedis;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 
+import redis.clients.jedis.args.StreamedValue;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisDataException;
@@ -30,7 +35,11 @@ public class Connection implements Closeable {
   private RedisInputStream inputStream;
   private int soTimeout = Protocol.DEFAULT_TIMEOUT;
   private int infiniteSoTimeout = 0;
+  private final int readBufferSize;
+  private final int writeBufferSize;
+  private final int maxBufferSize;
   private boolean broken = false;
+  private int repliesToSkip = 0;
 
   public Connection() {
     this(Protocol.DEFAULT_HOST, Protocol.DEFAULT_PORT);
@@ -79,6 +88,9 @@ public class Connection implements Closeable {
   public Connection(final JedisSocketFactory jedisSocketFactory) {
     this.socketFactory = jedisSocketFactory;
     this.soTimeout = jedisSocketFactory.getSoTimeout();
+    this.readBufferSize = jedisSocketFactory.getReadBufferSize();
+    this.writeBufferSize = jedisSocketFactory.getWriteBufferSize();
+    this.maxBufferSize = jedisSocketFactory.getMaxBufferSize();
   }
 
   @Override
@@ -98,6 +110,18 @@ public class Connection implements Closeable {
     return soTimeout;
   }
 
+  public int getReadBufferSize() {
+    return readBufferSize;
+  }
+
+  public int getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  public int getMaxBufferSize() {
+    return maxBufferSize;
+  }
+
   /**
    * @param connectionTimeout
    * @deprecated This method is not supported anymore and is kept for backward compatibility. It
@@ -162,29 +186,52 @@ public class Connection implements Closeable {
     try {
       connect();
       Protocol.sendCommand(outputStream, cmd, args);
+    } catch (JedisConnectionException ex) {
+      throw handleSendFailure(ex);
+    }
+  }
+
+  /**
+   * Sends a command whose trailing arguments are streamed to the socket instead of being held in
+   * memory.
+   */
+  public void sendCommand(final ProtocolCommand cmd, final byte[][] args,
+      final StreamedValue... values) {
+    try {
+      connect();
+      Protocol.sendCommand(outputStream, cmd, args, values);
     } catch (JedisConnectionException ex) {
       /*
-       * When client send request which formed by invalid protocol, Redis send back error message
-       * before close connection. We try to read it to provide reason of failure.
+       * The failure may come from the value source rather than from the socket. The server is then
+       * still waiting for the rest of the command, so there is no error message to read.
        */
-      try {
-        String errorMessage = Protocol.readErrorLineIfPossible(inputStream);
-        if (errorMessage != null && errorMessage.length() > 0) {
-          ex = new JedisConnectionException(errorMessage, ex.getCause());
-        }
-      } catch (Exception e) {
-        /*
-         * Catch any IOException or JedisConnectionException occurred from InputStream#read and just
-         * ignore. This approach is safe because reading error message is optional and connection
-         * will eventually be closed.
-         */
-      }
-      // Any other exceptions related to connection?
       broken = true;
       throw ex;
     }
   }
 
+  private JedisConnectionException handleSendFailure(JedisConnectionException ex) {
+    /*
+     * When client send request which formed by invalid protocol, Redis send back error message
+     * before close connection. We try to read it to provide reason of failure.
+     */
+    try {
+      String errorMessage = Protocol.readErrorLineIfPossible(inputStream);
+      if (errorMessage != null && errorMessage.length() > 0) {
+        ex = new JedisConnectionException(errorMessage, ex.getCause());
+      }
+    } catch (Exception e) {
+      /*
+       * Catch any IOException or JedisConnectionException occurred from InputStream#read and just
+       * ignore. This approach is safe because reading error message is optional and connection
+       * will eventually be closed.
+       */
+    }
+    // Any other exceptions related to connection?
+    broken = true;
+    return ex;
+  }
+
   public String getHost() {
     return socketFactory.getHost();
   }
@@ -225,8 +272,11 @@ public class Connection implements Closeable {
       try {
         socket = socketFactory.createSocket();
 
-        outputStream = new RedisOutputStream(socket.getOutputStream());
-        inputStream = new RedisInputStream(socket.getInputStream());
+        JedisTransport transport = socketFactory.getTransport();
+        outputStream = new RedisOutputStream(transport.getOutputStream(socket), writeBufferSize,
+            maxBufferSize);
+        inputStream = new RedisInputStream(transport.getInputStream(socket), readBufferSize,
+            maxBufferSize);
       } catch (IOException ioe) {
         broken = true;
         throw new JedisConnectionException("Failed to create input/output stream", ioe);
@@ -236,6 +286,7 @@ public class Connection implements Closeable {
       } finally {
         if (broken) {
           IOUtils.closeQuietly(socket);
+          closeStreams();
         }
       }
     }
@@ -256,10 +307,35 @@ public class Connection implements Closeable {
         throw new JedisConnectionException(ex);
       } finally {
         IOUtils.closeQuietly(socket);
+        closeStreams();
+        repliesToSkip = 0;
       }
     }
   }
 
+  /**
+   * Returns buffers that have grown while large replies or pipelines went through them to their
+   * configured size. Buffers still holding data are left as they are.
+   * <p>
+   * Pooled connections are shrunk when they are returned to the pool. Nothing else shrinks the
+   * buffers, so a connection used on its own keeps them grown until this is called.
+   */
+  public void shrinkBuffers() {
+    if (isConnected()) {
+      inputStream.shrink();
+      outputStream.shrink();
+    }
+  }
+
+  /**
+   * Lets the transport release what it holds for the streams (e.g. pooled buffers). Must be called
+   * after the socket is closed, so that nothing is flushed anymore.
+   */
+  private void closeStreams() {
+    IOUtils.closeQuietly(inputStream);
+    IOUtils.closeQuietly(outputStream);
+  }
+
   public boolean isConnected() {
     return socket != null && socket.isBound() && !socket.isClosed() && socket.isConnected()
         && !socket.isInputShutdown() && !socket.isOutputShutdown();
@@ -267,11 +343,16 @@ public class Connection implements Closeable {
 
   public String getStatusCodeReply() {
     flush();
-    final byte[] resp = (byte[]) readProtocolWithCheckingBroken();
-    if (null == resp) {
-      return null;
-    } else {
-      return SafeEncoder.encode(resp);
+    if (broken) {
+      throw new JedisConnectionException("Attempting to read from a broken connection");
+    }
+
+    try {
+      skipReplies();
+      return Protocol.readStatusCodeReply(inputStream);
+    } catch (JedisConnectionException exc) {
+      broken = true;
+      throw exc;
     }
   }
 
@@ -289,6 +370,33 @@ public class Connection implements Closeable {
     return (byte[]) readProtocolWithCheckingBroken();
   }
 
+  /**
+   * Copies a bulk reply to <code>out</code> as it is read from the socket.
+   * @return the length of the reply, or -1 if it is nil
+   */
+  public long getBinaryBulkReply(final OutputStream out) {
+    flush();
+    return readBulkReplyWithCheckingBroken(is -> Protocol.readBulkReply(is, out));
+  }
+
+  /**
+   * Copies a bulk reply to <code>out</code> as it is read from the socket.
+   * @return the length of the reply, or -1 if it is nil
+   */
+  public long getBinaryBulkReply(final WritableByteChannel out) {
+    flush();
+    return readBulkReplyWithCheckingBroken(is -> Protocol.readBulkReply(is, out));
+  }
+
+  /**
+   * Copies a bulk reply into <code>dst</code> as it is read from the socket.
+   * @return the length of the reply, or -1 if it is nil
+   */
+  public long getBinaryBulkReply(final ByteBuffer dst) {
+    flush();
+    return readBulkReplyWithCheckingBroken(is -> Protocol.readBulkReply(is, dst));
+  }
+
   public Long getIntegerReply() {
     flush();
     return (Long) readProtocolWithCheckingBroken();
@@ -298,10 +406,9 @@ public class Connection implements Closeable {
     return BuilderFactory.STRING_LIST.build(getBinaryMultiBulkReply());
   }
 
-  @SuppressWarnings("unchecked")
   public List<byte[]> getBinaryMultiBulkReply() {
     flush();
-    return (List<byte[]>) readProtocolWithCheckingBroken();
+    return BuilderFactory.BYTE_ARRAY_LIST.build(readProtocolWithCheckingBroken());
   }
 
   @Deprecated
@@ -330,10 +437,41 @@ public class Connection implements Closeable {
     return readProtocolWithCheckingBroken();
   }
 
+  /**
+   * Reads a reply with the {@link ReplyHandler} of <code>builder</code>, so that the result is
+   * built while the reply is parsed. Builders without a handler build from the parsed reply.
+   */
+  public <T> T getReply(final Builder<T> builder) {
+    flush();
+    final ReplyHandler<T> handler = builder.newReplyHandler();
+    if (handler == null) {
+      return builder.build(readProtocolWithCheckingBroken());
+    }
+    if (broken) {
+      throw new JedisConnectionException("Attempting to read from a broken connection");
+    }
+
+    try {
+      skipReplies();
+      return Protocol.read(inputStream, handler);
+    } catch (JedisConnectionException exc) {
+      broken = true;
+      throw exc;
+    }
+  }
+
   public boolean isBroken() {
     return broken;
   }
 
+  /**
+   * Has the connection discarded rather than reused once it is closed, e.g. because replies are
+   * left unread.
+   */
+  void setBroken() {
+    broken = true;
+  }
+
   protected void flush() {
     try {
       outputStream.flush();
@@ -344,12 +482,54 @@ public class Connection implements Closeable {
   }
 
   protected Object readProtocolWithCheckingBroken() {
+    return readProtocolWithCheckingBroken(false);
+  }
+
+  /**
+   * @param decodeStatus whether the reply is decoded to a String anyway, so that common status
+   * replies may be read as String constants, see {@link Protocol#readDecodingStatus}
+   */
+  protected Object readProtocolWithCheckingBroken(final boolean decodeStatus) {
+    if (broken) {
+      throw new JedisConnectionException("Attempting to read from a broken connection");
+    }
+
+    try {
+      skipReplies();
+      return decodeStatus ? Protocol.readDecodingStatus(inputStream) : Protocol.read(inputStream);
+    } catch (JedisConnectionException exc) {
+      broken = true;
+      throw exc;
+    }
+  }
+
+  /**
+   * Has the reply of the command just sent read and dropped right before the reply of the next
+   * one, so that a command such as ASKING can go out in the same write as the command it is for.
+   */
+  protected void skipReply() {
+    repliesToSkip++;
+  }
+
+  private void skipReplies() {
+    while (repliesToSkip > 0) {
+      repliesToSkip--;
+      try {
+        Protocol.read(inputStream);
+      } catch (JedisDataException e) {
+        // the reply of the next command tells what went wrong
+      }
+    }
+  }
+
+  private long readBulkReplyWithCheckingBroken(final ToLongFunction<RedisInputStream> reader) {
     if (broken) {
       throw new JedisConnectionException("Attempting to read from a broken connection");
     }
 
     try {
-      return Protocol.read(inputStream);
+      skipReplies();
+      return reader.applyAsLong(inputStream);
     } catch (JedisConnectionException exc) {
       broken = true;
       throw exc;
@@ -15,6 +15,8 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
   private volatile String password;
   private final int database;
   private final String clientName;
+  private final RedisProtocol redisProtocol;
+  private final NearCache nearCache;
 
   private final boolean ssl;
   private final SSLSocketFactory sslSocketFactory;
@@ -23,10 +25,17 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
 
   private final HostAndPortMapper hostAndPortMapper;
 
+  private final JedisTransport transport;
+
+  private final int readBufferSize;
+  private final int writeBufferSize;
+  private final int maxBufferSize;
+
   private DefaultJedisClientConfig(int connectionTimeoutMillis, int soTimeoutMillis,
       int blockingSocketTimeoutMillis, String user, String password, int database, String clientName,
-      boolean ssl, SSLSocketFactory sslSocketFactory, SSLParameters sslParameters,
-      HostnameVerifier hostnameVerifier, HostAndPortMapper hostAndPortMapper) {
+      RedisProtocol redisProtocol, NearCache nearCache, boolean ssl, SSLSocketFactory sslSocketFactory, SSLParameters sslParameters,
+      HostnameVerifier hostnameVerifier, HostAndPortMapper hostAndPortMapper,
+      JedisTransport transport, int readBufferSize, int writeBufferSize, int maxBufferSize) {
     this.connectionTimeoutMillis = connectionTimeoutMillis;
     this.socketTimeoutMillis = soTimeoutMillis;
     this.blockingSocketTimeoutMillis = blockingSocketTimeoutMillis;
@@ -34,11 +43,17 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     this.password = password;
     this.database = database;
     this.clientName = clientName;
+    this.redisProtocol = redisProtocol;
+    this.nearCache = nearCache;
     this.ssl = ssl;
     this.sslSocketFactory = sslSocketFactory;
     this.sslParameters = sslParameters;
     this.hostnameVerifier = hostnameVerifier;
     this.hostAndPortMapper = hostAndPortMapper;
+    this.transport = transport;
+    this.readBufferSize = readBufferSize;
+    this.writeBufferSize = writeBufferSize;
+    this.maxBufferSize = maxBufferSize;
   }
 
   @Override
@@ -83,6 +98,16 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     return clientName;
   }
 
+  @Override
+  public RedisProtocol getRedisProtocol() {
+    return redisProtocol;
+  }
+
+  @Override
+  public NearCache getNearCache() {
+    return nearCache;
+  }
+
   @Override
   public boolean isSsl() {
     return ssl;
@@ -108,6 +133,26 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     return hostAndPortMapper;
   }
 
+  @Override
+  public JedisTransport getTransport() {
+    return transport;
+  }
+
+  @Override
+  public int getReadBufferSize() {
+    return readBufferSize;
+  }
+
+  @Override
+  public int getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  @Override
+  public int getMaxBufferSize() {
+    return maxBufferSize;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -122,6 +167,8 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     private String password = null;
     private int database = Protocol.DEFAULT_DATABASE;
     private String clientName = null;
+    private RedisProtocol redisProtocol = null;
+    private NearCache nearCache = null;
 
     private boolean ssl = false;
     private SSLSocketFactory sslSocketFactory = null;
@@ -130,13 +177,20 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
 
     private HostAndPortMapper hostAndPortMapper = null;
 
+    private JedisTransport transport = null;
+
+    private int readBufferSize = Protocol.DEFAULT_BUFFER_SIZE;
+    private int writeBufferSize = Protocol.DEFAULT_BUFFER_SIZE;
+    private int maxBufferSize = 0;
+
     private Builder() {
     }
 
     public DefaultJedisClientConfig build() {
       return new DefaultJedisClientConfig(connectionTimeoutMillis, socketTimeoutMillis,
-          blockingSocketTimeoutMillis, user, password, database, clientName, ssl, sslSocketFactory,
-          sslParameters, hostnameVerifier, hostAndPortMapper);
+          blockingSocketTimeoutMillis, user, password, database, clientName, redisProtocol, nearCache,
+          ssl, sslSocketFactory, sslParameters, hostnameVerifier, hostAndPortMapper, transport,
+          readBufferSize, writeBufferSize, maxBufferSize);
     }
 
     public Builder connectionTimeoutMillis(int connectionTimeoutMillis) {
@@ -174,6 +228,16 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
       return this;
     }
 
+    public Builder redisProtocol(RedisProtocol redisProtocol) {
+      this.redisProtocol = redisProtocol;
+      return this;
+    }
+
+    public Builder nearCache(NearCache nearCache) {
+      this.nearCache = nearCache;
+      return this;
+    }
+
     public Builder ssl(boolean ssl) {
       this.ssl = ssl;
       return this;
@@ -198,13 +262,34 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
       this.hostAndPortMapper = hostAndPortMapper;
       return this;
     }
+
+    public Builder transport(JedisTransport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    public Builder readBufferSize(int readBufferSize) {
+      this.readBufferSize = readBufferSize;
+      return this;
+    }
+
+    public Builder writeBufferSize(int writeBufferSize) {
+      this.writeBufferSize = writeBufferSize;
+      return this;
+    }
+
+    public Builder maxBufferSize(int maxBufferSize) {
+      this.maxBufferSize = maxBufferSize;
+      return this;
+    }
   }
 
   public static DefaultJedisClientConfig copyConfig(JedisClientConfig copy) {
     return new DefaultJedisClientConfig(copy.getConnectionTimeoutMillis(),
         copy.getSocketTimeoutMillis(), copy.getBlockingSocketTimeoutMillis(), copy.getUser(),
-        copy.getPassword(), copy.getDatabase(), copy.getClientName(), copy.isSsl(),
-        copy.getSslSocketFactory(), copy.getSslParameters(), copy.getHostnameVerifier(),
-        copy.getHostAndPortMapper());
+        copy.getPassword(), copy.getDatabase(), copy.getClientName(), copy.getRedisProtocol(),
+        copy.getNearCache(), copy.isSsl(), copy.getSslSocketFactory(), copy.getSslParameters(),
+        copy.getHostnameVerifier(), copy.getHostAndPortMapper(), copy.getTransport(),
+        copy.getReadBufferSize(), copy.getWriteBufferSize(), copy.getMaxBufferSize());
   }
 }
@@ -24,6 +24,10 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
   private SSLParameters sslParameters = null;
   private HostnameVerifier hostnameVerifier = null;
   private HostAndPortMapper hostAndPortMapper = null;
+  private JedisTransport transport = DefaultJedisTransport.INSTANCE;
+  private int readBufferSize = Protocol.DEFAULT_BUFFER_SIZE;
+  private int writeBufferSize = Protocol.DEFAULT_BUFFER_SIZE;
+  private int maxBufferSize = 0;
 
   public DefaultJedisSocketFactory() {
   }
@@ -61,6 +65,12 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
       this.sslParameters = config.getSslParameters();
       this.hostnameVerifier = config.getHostnameVerifier();
       this.hostAndPortMapper = config.getHostAndPortMapper();
+      if (config.getTransport() != null) {
+        this.transport = config.getTransport();
+      }
+      this.readBufferSize = config.getReadBufferSize();
+      this.writeBufferSize = config.getWriteBufferSize();
+      this.maxBufferSize = config.getMaxBufferSize();
     }
   }
 
@@ -68,7 +78,7 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
   public Socket createSocket() throws JedisConnectionException {
     Socket socket = null;
     try {
-      socket = new Socket();
+      socket = transport.createSocket();
       // ->@wjw_add
       socket.setReuseAddress(true);
       socket.setKeepAlive(true); // Will monitor the TCP connection is valid
@@ -111,6 +121,26 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
     }
   }
 
+  @Override
+  public JedisTransport getTransport() {
+    return transport;
+  }
+
+  @Override
+  public int getReadBufferSize() {
+    return readBufferSize;
+  }
+
+  @Override
+  public int getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  @Override
+  public int getMaxBufferSize() {
+    return maxBufferSize;
+  }
+
   @Override
   public void updateHostAndPort(HostAndPort hostAndPort) {
     this.hostAndPort = hostAndPort;
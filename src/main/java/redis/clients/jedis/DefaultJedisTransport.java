@@ -0,0 +1,34 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Transport over the blocking streams of a {@link java.net.Socket}.
+ */
+public class DefaultJedisTransport implements JedisTransport {
+
+  static final DefaultJedisTransport INSTANCE = new DefaultJedisTransport();
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return new Socket();
+  }
+
+  @Override
+  public InputStream getInputStream(Socket socket) throws IOException {
+    return socket.getInputStream();
+  }
+
+  @Override
+  public OutputStream getOutputStream(Socket socket) throws IOException {
+    return socket.getOutputStream();
+  }
+
+  @Override
+  public String toString() {
+    return "DefaultJedisTransport";
+  }
+}
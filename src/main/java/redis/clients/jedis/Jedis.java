@@ -1,6 +1,9 @@
 package redis.clients.jedis;
 
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -222,6 +225,19 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Works same as {@link #set(String, String)} but the value is streamed to the socket while the
+   * command is written, so large values never need to be held in memory.
+   * @param key
+   * @param value
+   * @return Status code reply
+   */
+  public String setStreamed(final String key, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.setStreamed(key, value);
+    return client.getStatusCodeReply();
+  }
+
   /**
    * Set the string value as value of the key. The string can't be longer than 1073741824 bytes (1
    * GB).
@@ -250,10 +266,55 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
   @Override
   public String get(final String key) {
     checkIsInMultiOrPipeline();
+    if (getNearCache() != null) {
+      byte[] value = nearCacheGet(SafeEncoder.encode(key));
+      return value == null ? null : SafeEncoder.encode(value);
+    }
     client.get(key);
     return client.getBulkReply();
   }
 
+  /**
+   * Works same as {@link #get(String)} but copies the value to <code>out</code> as it is read from
+   * the socket, instead of allocating the whole value. Useful for large values.
+   * @param key
+   * @param out
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final String key, final OutputStream out) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #get(String)} but copies the value to <code>out</code> as it is read from
+   * the socket, instead of allocating the whole value. Useful for large values.
+   * @param key
+   * @param out a channel in blocking mode
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final String key, final WritableByteChannel out) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #get(String)} but copies the value into <code>dst</code>. If the value
+   * does not fit into the remaining space of the buffer a
+   * {@link redis.clients.jedis.exceptions.JedisDataException} is thrown and the buffer is left
+   * untouched.
+   * @param key
+   * @param dst
+   * @return the length of the value, or -1 if the key does not exist
+   */
+  public long get(final String key, final ByteBuffer dst) {
+    checkIsInMultiOrPipeline();
+    client.get(key);
+    return client.getBinaryBulkReply(dst);
+  }
+
   /**
    * Get the value of key and delete the key. This command is similar to GET, except for the fact
    * that it also deletes the key on success (if and only if the key's value type is a string).
@@ -600,6 +661,20 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Works same as {@link #setex(String, long, String)} but the value is streamed to the socket
+   * while the command is written.
+   * @param key
+   * @param seconds
+   * @param value
+   * @return Status code reply
+   */
+  public String setexStreamed(final String key, final long seconds, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.setexStreamed(key, seconds, value);
+    return client.getStatusCodeReply();
+  }
+
   /**
    * Set the the respective keys to the respective values. MSET will replace old values with new
    * values, while {@link #msetnx(String...) MSETNX} will not perform any operation at all even if
@@ -828,6 +903,20 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     return client.getIntegerReply();
   }
 
+  /**
+   * Works same as {@link #hset(String, String, String)} but the value is streamed to the socket
+   * while the command is written.
+   * @param key
+   * @param field
+   * @param value
+   * @return 1 if a new field was created, 0 if an existing field was updated
+   */
+  public long hsetStreamed(final String key, final String field, final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.hsetStreamed(key, field, value);
+    return client.getIntegerReply();
+  }
+
   @Override
   public long hset(final String key, final Map<String, String> hash) {
     checkIsInMultiOrPipeline();
@@ -848,10 +937,58 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
   @Override
   public String hget(final String key, final String field) {
     checkIsInMultiOrPipeline();
+    if (getNearCache() != null) {
+      byte[] value = nearCacheHget(SafeEncoder.encode(key), SafeEncoder.encode(field));
+      return value == null ? null : SafeEncoder.encode(value);
+    }
     client.hget(key, field);
     return client.getBulkReply();
   }
 
+  /**
+   * Works same as {@link #hget(String, String)} but copies the value to <code>out</code> as it is
+   * read from the socket, instead of allocating the whole value.
+   * @param key
+   * @param field
+   * @param out
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final String key, final String field, final OutputStream out) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #hget(String, String)} but copies the value to <code>out</code> as it is
+   * read from the socket, instead of allocating the whole value.
+   * @param key
+   * @param field
+   * @param out a channel in blocking mode
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final String key, final String field, final WritableByteChannel out) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(out);
+  }
+
+  /**
+   * Works same as {@link #hget(String, String)} but copies the value into <code>dst</code>. If
+   * the value does not fit into the remaining space of the buffer a
+   * {@link redis.clients.jedis.exceptions.JedisDataException} is thrown and the buffer is left
+   * untouched.
+   * @param key
+   * @param field
+   * @param dst
+   * @return the length of the value, or -1 if the field or the key does not exist
+   */
+  public long hget(final String key, final String field, final ByteBuffer dst) {
+    checkIsInMultiOrPipeline();
+    client.hget(key, field);
+    return client.getBinaryBulkReply(dst);
+  }
+
   /**
    * Set the specified hash field to the specified value if the field not exists. <b>Time
    * complexity:</b> O(1)
@@ -1032,7 +1169,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
   public Map<String, String> hgetAll(final String key) {
     checkIsInMultiOrPipeline();
     client.hgetAll(key);
-    return BuilderFactory.STRING_MAP.build(client.getBinaryMultiBulkReply());
+    return client.getReply(BuilderFactory.STRING_MAP);
   }
 
   /**
@@ -3897,6 +4034,16 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     return client.getStatusCodeReply();
   }
 
+  /**
+   * Like {@link #asking()}, without a round trip of its own: ASKING goes out in the same write as
+   * the next command, and its reply is dropped when the reply of that command is read.
+   */
+  public void askingForNextCommand() {
+    checkIsInMultiOrPipeline();
+    client.asking();
+    client.skipReply();
+  }
+
   public List<String> pubsubChannels() {
     checkIsInMultiOrPipeline();
     client.pubsubChannels();
@@ -4268,6 +4415,22 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     return new StreamEntryID(result);
   }
 
+  /**
+   * XADD key id field value, where the value is streamed to the socket while the command is
+   * written.
+   * @param key
+   * @param id the entry ID, or <code>null</code> to let the server generate one
+   * @param field
+   * @param value
+   * @return the ID of the added entry
+   */
+  public StreamEntryID xaddStreamed(final String key, final StreamEntryID id, final String field,
+      final StreamedValue value) {
+    checkIsInMultiOrPipeline();
+    client.xaddStreamed(key, id, field, value);
+    return BuilderFactory.STREAM_ENTRY_ID.build(client.getBinaryBulkReply());
+  }
+
   @Override
   public StreamEntryID xadd(final String key, final Map<String, String> hash, final XAddParams params) {
     checkIsInMultiOrPipeline();
@@ -4286,7 +4449,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
   public List<StreamEntry> xrange(final String key, final StreamEntryID start, final StreamEntryID end) {
     checkIsInMultiOrPipeline();
     client.xrange(key, start, end);
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   /**
@@ -4297,7 +4460,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
       final StreamEntryID end, final int count) {
     checkIsInMultiOrPipeline();
     client.xrange(key, start, end, count);
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   @Override
@@ -4305,7 +4468,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
       final StreamEntryID start) {
     checkIsInMultiOrPipeline();
     client.xrevrange(key, end, start);
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   /**
@@ -4316,7 +4479,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
       final StreamEntryID start, final int count) {
     checkIsInMultiOrPipeline();
     client.xrevrange(key, end, start, count);
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   /**
@@ -4477,7 +4640,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     checkIsInMultiOrPipeline();
     client.xclaim(key, group, consumername, minIdleTime, newIdleTime, retries, force, ids);
 
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   @Override
@@ -4486,7 +4649,7 @@ public class Jedis extends BinaryJedis implements JedisCommands, MultiKeyCommand
     checkIsInMultiOrPipeline();
     client.xclaim(key, group, consumername, minIdleTime, params, ids);
 
-    return BuilderFactory.STREAM_ENTRY_LIST.build(client.getObjectMultiBulkReply());
+    return client.getReply(BuilderFactory.STREAM_ENTRY_LIST);
   }
 
   @Override
@@ -50,6 +50,22 @@ public interface JedisClientConfig {
     return null;
   }
 
+  /**
+   * @return Protocol to negotiate with HELLO when connecting. <code>null</code> - do not send
+   * HELLO and stay on the RESP2 default.
+   */
+  default RedisProtocol getRedisProtocol() {
+    return null;
+  }
+
+  /**
+   * @return Cache that serves GET and HGET without a round trip, shared by every connection created
+   * with this config. <code>null</code> - no caching.
+   */
+  default NearCache getNearCache() {
+    return null;
+  }
+
   /**
    * @return <code>true</code> - to create a TLS connection. <code>false</code> - otherwise.
    */
@@ -73,4 +89,36 @@ public interface JedisClientConfig {
     return null;
   }
 
+  /**
+   * @return Transport used for the connection streams. <code>null</code> means
+   * {@link DefaultJedisTransport}.
+   */
+  default JedisTransport getTransport() {
+    return null;
+  }
+
+  /**
+   * @return Size of the buffer that replies are read through
+   */
+  default int getReadBufferSize() {
+    return Protocol.DEFAULT_BUFFER_SIZE;
+  }
+
+  /**
+   * @return Size of the buffer that commands are written through
+   */
+  default int getWriteBufferSize() {
+    return Protocol.DEFAULT_BUFFER_SIZE;
+  }
+
+  /**
+   * @return Size up to which the read and write buffers may grow while large replies or pipelines
+   * go through them. They shrink back to their configured size when the connection is returned to
+   * a pool, see {@link Connection#shrinkBuffers()}; a connection that is not pooled keeps them
+   * grown until it is called. <code>0</code> - buffers keep their size.
+   */
+  default int getMaxBufferSize() {
+    return 0;
+  }
+
 }
@@ -9,8 +9,10 @@ import redis.clients.jedis.params.*;
 import redis.clients.jedis.resps.*;
 import redis.clients.jedis.util.JedisClusterHashTagUtil;
 import redis.clients.jedis.util.KeyMergeUtil;
+import redis.clients.jedis.util.SafeEncoder;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -209,7 +211,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.get(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -239,7 +241,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Boolean execute(Jedis connection) {
         return connection.exists(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -269,7 +271,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.type(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -279,7 +281,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public byte[] execute(Jedis connection) {
         return connection.dump(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -350,7 +352,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.ttl(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -360,7 +362,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.pttl(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -410,7 +412,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Boolean execute(Jedis connection) {
         return connection.getbit(key, offset);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -430,7 +432,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.getrange(key, startOffset, endOffset);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -540,7 +542,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.substr(key, start, end);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -570,7 +572,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.hget(key, field);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -600,7 +602,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.hmget(key, fields);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -630,7 +632,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Boolean execute(Jedis connection) {
         return connection.hexists(key, field);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -650,7 +652,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.hlen(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -660,7 +662,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.hkeys(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -670,7 +672,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.hvals(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -680,7 +682,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Map<String, String> execute(Jedis connection) {
         return connection.hgetAll(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -690,7 +692,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.hrandfield(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -700,7 +702,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.hrandfield(key, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -710,7 +712,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Map<String, String> execute(Jedis connection) {
         return connection.hrandfieldWithValues(key, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -740,7 +742,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.llen(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -750,7 +752,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.lrange(key, start, stop);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -770,7 +772,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.lindex(key, index);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -820,7 +822,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.lpos(key, element);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -830,7 +832,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.lpos(key, element, params);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -841,7 +843,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<Long> execute(Jedis connection) {
         return connection.lpos(key, element, params, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -881,7 +883,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.smembers(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -921,7 +923,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.scard(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -931,7 +933,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Boolean execute(Jedis connection) {
         return connection.sismember(key, member);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -941,7 +943,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<Boolean> execute(Jedis connection) {
         return connection.smismember(key, members);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -951,7 +953,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.srandmember(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -961,7 +963,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.srandmember(key, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -971,7 +973,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.strlen(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1063,7 +1065,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrange(key, start, stop);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1104,7 +1106,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zrank(key, member);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1114,7 +1116,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zrevrank(key, member);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1124,7 +1126,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrange(key, start, stop);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1134,7 +1136,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeWithScores(key, start, stop);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1144,7 +1146,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeWithScores(key, start, stop);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1154,7 +1156,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public String execute(Jedis connection) {
         return connection.zrandmember(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1164,7 +1166,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrandmember(key, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1174,7 +1176,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrandmemberWithScores(key, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1184,7 +1186,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zcard(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1194,7 +1196,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Double execute(Jedis connection) {
         return connection.zscore(key, member);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1204,7 +1206,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<Double> execute(Jedis connection) {
         return connection.zmscore(key, members);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1274,7 +1276,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zcount(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1284,7 +1286,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zcount(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1294,7 +1296,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1304,7 +1306,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1314,7 +1316,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1325,7 +1327,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1335,7 +1337,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1346,7 +1348,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByScore(key, min, max, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1357,7 +1359,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1367,7 +1369,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1377,7 +1379,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1388,7 +1390,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1399,7 +1401,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByScore(key, max, min, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1409,7 +1411,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1419,7 +1421,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1430,7 +1432,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrangeByScoreWithScores(key, min, max, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1441,7 +1443,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1452,7 +1454,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<Tuple> execute(Jedis connection) {
         return connection.zrevrangeByScoreWithScores(key, max, min, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1492,7 +1494,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.zlexcount(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1502,7 +1504,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByLex(key, min, max);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1513,7 +1515,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrangeByLex(key, min, max, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1523,7 +1525,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByLex(key, max, min);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1534,7 +1536,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Set<String> execute(Jedis connection) {
         return connection.zrevrangeByLex(key, max, min, offset, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1626,7 +1628,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.bitcount(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1636,7 +1638,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.bitcount(key, start, end);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1646,7 +1648,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.bitpos(key, value);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1656,7 +1658,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.bitpos(key, value, params);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1719,7 +1721,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public ScanResult<Entry<String, String>> execute(Jedis connection) {
         return connection.hscan(key, cursor, scanParams);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1729,7 +1731,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public ScanResult<String> execute(Jedis connection) {
         return connection.sscan(key, cursor, scanParams);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1739,7 +1741,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public ScanResult<Tuple> execute(Jedis connection) {
         return connection.zscan(key, cursor, scanParams);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1759,7 +1761,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.pfcount(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -1921,6 +1923,63 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
     }.run(keys.length, keys);
   }
 
+  /**
+   * Like {@link #mget(String...)}, for keys of any slots. One MGET per slot is pipelined to the
+   * nodes, the nodes working on their share at the same time.
+   * @return the values, in the order of <code>keys</code>
+   */
+  public List<String> mgetCrossSlot(final String... keys) {
+    final String[] values = new String[keys.length];
+    for (CrossSlotReply reply : runCrossSlot(Protocol.Command.MGET, 1,
+      SafeEncoder.encodeMany(keys))) {
+      final List<String> slotValues = BuilderFactory.STRING_LIST.build(reply.get());
+      for (int i = 0; i < slotValues.size(); i++) {
+        values[reply.keyIndexes.get(i)] = slotValues.get(i);
+      }
+    }
+    return Arrays.asList(values);
+  }
+
+  /**
+   * Like {@link #mset(String...)}, for keys of any slots. One MSET per slot is pipelined to the
+   * nodes, so the keys are not all set at once.
+   */
+  public String msetCrossSlot(final String... keysvalues) {
+    return msetCrossSlot(SafeEncoder.encodeMany(keysvalues));
+  }
+
+  /**
+   * Like {@link #del(String...)}, for keys of any slots.
+   * @see #mgetCrossSlot(String...)
+   */
+  public long delCrossSlot(final String... keys) {
+    return sumCrossSlot(Protocol.Command.DEL, SafeEncoder.encodeMany(keys));
+  }
+
+  /**
+   * Like {@link #unlink(String...)}, for keys of any slots.
+   * @see #mgetCrossSlot(String...)
+   */
+  public long unlinkCrossSlot(final String... keys) {
+    return sumCrossSlot(Protocol.Command.UNLINK, SafeEncoder.encodeMany(keys));
+  }
+
+  /**
+   * Like {@link #exists(String...)}, for keys of any slots.
+   * @see #mgetCrossSlot(String...)
+   */
+  public long existsCrossSlot(final String... keys) {
+    return sumCrossSlot(Protocol.Command.EXISTS, SafeEncoder.encodeMany(keys));
+  }
+
+  /**
+   * Like {@link #touch(String...)}, for keys of any slots.
+   * @see #mgetCrossSlot(String...)
+   */
+  public long touchCrossSlot(final String... keys) {
+    return sumCrossSlot(Protocol.Command.TOUCH, SafeEncoder.encodeMany(keys));
+  }
+
   @Override
   public long msetnx(final String... keysvalues) {
     String[] keys = new String[keysvalues.length / 2];
@@ -2375,7 +2434,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Double execute(Jedis connection) {
         return connection.geodist(key, member1, member2);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2386,7 +2445,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Double execute(Jedis connection) {
         return connection.geodist(key, member1, member2, unit);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2396,7 +2455,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<String> execute(Jedis connection) {
         return connection.geohash(key, members);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2406,7 +2465,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<GeoCoordinate> execute(Jedis connection) {
         return connection.geopos(key, members);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2428,7 +2487,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusReadonly(key, longitude, latitude, radius, unit);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2463,7 +2522,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusReadonly(key, longitude, latitude, radius, unit, param);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2485,7 +2544,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusByMemberReadonly(key, member, radius, unit);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2519,7 +2578,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<GeoRadiusResponse> execute(Jedis connection) {
         return connection.georadiusByMemberReadonly(key, member, radius, unit, param);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2539,7 +2598,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<Long> execute(Jedis connection) {
         return connection.bitfieldReadonly(key, arguments);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2549,7 +2608,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.hstrlen(key, field);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2559,7 +2618,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.memoryUsage(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2569,7 +2628,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.memoryUsage(key, samples);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2610,7 +2669,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public Long execute(Jedis connection) {
         return connection.xlen(key);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2621,7 +2680,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<StreamEntry> execute(Jedis connection) {
         return connection.xrange(key, start, end);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2632,7 +2691,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<StreamEntry> execute(Jedis connection) {
         return connection.xrange(key, start, end, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2643,7 +2702,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<StreamEntry> execute(Jedis connection) {
         return connection.xrevrange(key, end, start);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -2654,7 +2713,7 @@ public class JedisCluster extends BinaryJedisCluster implements JedisClusterComm
       public List<StreamEntry> execute(Jedis connection) {
         return connection.xrevrange(key, end, start, count);
       }
-    }.run(key);
+    }.runReadOnly(key);
   }
 
   @Override
@@ -13,6 +13,7 @@ import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisMovedDataException;
 import redis.clients.jedis.exceptions.JedisRedirectionException;
 import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
 
 public abstract class JedisClusterCommand<T> {
 
@@ -41,7 +42,15 @@ public abstract class JedisClusterCommand<T> {
   public abstract T execute(Jedis connection);
 
   public T run(String key) {
-    return runWithRetries(JedisClusterCRC16.getSlot(key));
+    return runWithRetries(JedisClusterCRC16.getSlot(key), key, null, false);
+  }
+
+  /**
+   * Like {@link #run(String)}, for a command that only reads: it may be sent to a replica,
+   * depending on {@link JedisClusterConnectionHandler#getReadFrom()}.
+   */
+  public T runReadOnly(String key) {
+    return runWithRetries(JedisClusterCRC16.getSlot(key), key, null, true);
   }
 
   public T run(int keyCount, String... keys) {
@@ -61,11 +70,18 @@ public abstract class JedisClusterCommand<T> {
       }
     }
 
-    return runWithRetries(slot);
+    return runWithRetries(slot, null, null, false);
   }
 
   public T runBinary(byte[] key) {
-    return runWithRetries(JedisClusterCRC16.getSlot(key));
+    return runWithRetries(JedisClusterCRC16.getSlot(key), null, key, false);
+  }
+
+  /**
+   * @see #runReadOnly(String)
+   */
+  public T runBinaryReadOnly(byte[] key) {
+    return runWithRetries(JedisClusterCRC16.getSlot(key), null, key, true);
   }
 
   public T runBinary(int keyCount, byte[]... keys) {
@@ -85,7 +101,7 @@ public abstract class JedisClusterCommand<T> {
       }
     }
 
-    return runWithRetries(slot);
+    return runWithRetries(slot, null, null, false);
   }
 
   public T runWithAnyNode() {
@@ -98,36 +114,88 @@ public abstract class JedisClusterCommand<T> {
     }
   }
 
-  private T runWithRetries(final int slot) {
+  /**
+   * @param key the key of a single key command, or null
+   * @param binaryKey the key of a single key binary command, or null
+   * @param readOnly whether the command may be sent to a replica
+   */
+  private T runWithRetries(final int slot, final String key, byte[] binaryKey, boolean readOnly) {
     Instant deadline = Instant.now().plus(maxTotalRetriesDuration);
 
+    // node the key is migrating to, which is asked directly rather than after an ASK redirection
+    HostAndPort askTarget = null;
+    if ((key != null || binaryKey != null) && connectionHandler.hasAskTargets()) {
+      if (binaryKey == null) {
+        binaryKey = SafeEncoder.encode(key);
+      }
+      askTarget = connectionHandler.getAskTarget(binaryKey);
+    }
+
+    // per node successes and failures, for the circuit breaker
+    final boolean trackHealth = connectionHandler.isCircuitBreakerEnabled();
+
     JedisRedirectionException redirect = null;
     int consecutiveConnectionFailures = 0;
     Exception lastException = null;
     for (int attemptsLeft = this.maxAttempts; attemptsLeft > 0; attemptsLeft--) {
       Jedis connection = null;
+      JedisPool pool = null;
       try {
-        if (redirect != null) {
-          connection = connectionHandler.getConnectionFromNode(redirect.getTargetNode());
-          if (redirect instanceof JedisAskDataException) {
-            // TODO: Pipeline asking with the original command to make it faster....
-            connection.asking();
+        if (askTarget != null) {
+          if (trackHealth) {
+            pool = connectionHandler.getPoolFromNode(askTarget);
+          } else {
+            connection = connectionHandler.getConnectionFromNode(askTarget);
           }
+        } else if (redirect != null) {
+          if (trackHealth) {
+            pool = connectionHandler.getPoolFromNode(redirect.getTargetNode());
+          } else {
+            connection = connectionHandler.getConnectionFromNode(redirect.getTargetNode());
+          }
+        } else if (readOnly && connectionHandler.getReadFrom() != ReadFrom.MASTER) {
+          pool = connectionHandler.getReadPoolFromSlot(slot);
+        } else if (trackHealth) {
+          pool = connectionHandler.getPoolFromSlot(slot);
         } else {
           connection = connectionHandler.getConnectionFromSlot(slot);
         }
+        if (pool != null) {
+          connection = trackHealth ? connectionHandler.getConnectionFromPool(pool)
+              : pool.getResource();
+        }
+        if (askTarget != null) {
+          connection.askingForNextCommand();
+        }
 
-        return execute(connection);
+        if (pool == null) {
+          return execute(connection);
+        }
+        final long start = System.nanoTime();
+        final T result = execute(connection);
+        if (trackHealth) {
+          connectionHandler.recordSuccess(pool, System.nanoTime() - start);
+        } else {
+          connectionHandler.recordReadLatency(pool, System.nanoTime() - start);
+        }
+        return result;
 
       } catch (JedisConnectionException jce) {
+        if (trackHealth && pool != null) {
+          connectionHandler.recordFailure(pool);
+        }
+        // the master is asked next, in case the node that failed was a replica
+        readOnly = false;
         lastException = jce;
         ++consecutiveConnectionFailures;
         LOG.debug("Failed connecting to Redis: {}", connection, jce);
         // "- 1" because we just did one, but the attemptsLeft counter hasn't been decremented yet
-        boolean reset = handleConnectionProblem(attemptsLeft - 1, consecutiveConnectionFailures, deadline);
+        boolean reset = handleConnectionProblem(attemptsLeft - 1, consecutiveConnectionFailures,
+          deadline, trackHealth);
         if (reset) {
           consecutiveConnectionFailures = 0;
           redirect = null;
+          askTarget = null;
         }
       } catch (JedisRedirectionException jre) {
         // avoid updating lastException if it is a connection exception
@@ -137,6 +205,20 @@ public abstract class JedisClusterCommand<T> {
         LOG.debug("Redirected by server to {}", jre.getTargetNode());
         consecutiveConnectionFailures = 0;
         redirect = jre;
+        if (jre instanceof JedisAskDataException) {
+          askTarget = jre.getTargetNode();
+          if (key != null || binaryKey != null) {
+            connectionHandler.setAskTarget(binaryKey != null ? binaryKey : SafeEncoder.encode(key),
+              askTarget);
+          }
+        } else {
+          if (askTarget != null && (key != null || binaryKey != null)) {
+            // the migration was aborted or is over, the target now redirects the key elsewhere
+            connectionHandler.removeAskTarget(binaryKey != null ? binaryKey
+                : SafeEncoder.encode(key));
+          }
+          askTarget = null;
+        }
         // if MOVED redirection occurred,
         if (jre instanceof JedisMovedDataException) {
           // it rebuilds cluster's slot cache recommended by Redis cluster specification
@@ -162,10 +244,13 @@ public abstract class JedisClusterCommand<T> {
    * @param attemptsLeft
    * @param consecutiveConnectionFailures
    * @param doneDeadline
+   * @param trackHealth whether the slot cache is renewed by the circuit breaker instead, when the
+   * circuit of a node opens
    * @return true - if some actions are taken
    * <br /> false - if no actions are taken
    */
-  private boolean handleConnectionProblem(int attemptsLeft, int consecutiveConnectionFailures, Instant doneDeadline) {
+  private boolean handleConnectionProblem(int attemptsLeft, int consecutiveConnectionFailures,
+      Instant doneDeadline, boolean trackHealth) {
     if (this.maxAttempts < 3) {
       // Since we only renew the slots cache after two consecutive connection
       // failures (see consecutiveConnectionFailures above), we need to special
@@ -173,7 +258,9 @@ public abstract class JedisClusterCommand<T> {
       // Otherwise, on two or fewer max attempts, the slots cache would never be
       // renewed.
       if (attemptsLeft == 0) {
-        this.connectionHandler.renewSlotCache();
+        if (!trackHealth) {
+          this.connectionHandler.renewSlotCache();
+        }
         return true;
       }
       return false;
@@ -186,9 +273,10 @@ public abstract class JedisClusterCommand<T> {
     sleep(getBackoffSleepMillis(attemptsLeft, doneDeadline));
     //We need this because if node is not reachable anymore - we need to finally initiate slots
     //renewing, or we can stuck with cluster state without one node in opposite case.
-    //TODO make tracking of successful/unsuccessful operations for node - do renewing only
-    //if there were no successful responses from this node last few seconds
-    this.connectionHandler.renewSlotCache();
+    //With the circuit breaker, renewing only happens once the node has failed too many times.
+    if (!trackHealth) {
+      this.connectionHandler.renewSlotCache();
+    }
     return true;
   }
 
@@ -1,18 +1,46 @@
 package redis.clients.jedis;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
+import redis.clients.jedis.exceptions.JedisClusterOperationException;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 
 public abstract class JedisClusterConnectionHandler implements Closeable {
   protected final JedisClusterInfoCache cache;
 
+  private volatile ReadFrom readFrom = ReadFrom.MASTER;
+  private volatile ClusterTopologyRefresher topologyRefresher;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  /**
+   * Requests and round trips of each node, for {@link ReadFrom#LOWEST_LATENCY} and the circuit
+   * breaker.
+   */
+  private final Map<JedisPool, ClusterNodeHealth> nodeHealth = new ConcurrentHashMap<>();
+
+  /**
+   * Consecutive connection failures opening the circuit of a node, 0 while the circuit breaker is
+   * disabled.
+   */
+  private volatile int failureThreshold;
+  private volatile long openNanos;
+
+  /**
+   * One read in this many goes to a node of the slot in turn, to measure the other nodes again.
+   */
+  private static final int LATENCY_PROBE_INTERVAL = 64;
+
   public JedisClusterConnectionHandler(Set<HostAndPort> nodes,
       GenericObjectPoolConfig<Jedis> poolConfig, int connectionTimeout, int soTimeout,
       String password) {
@@ -54,6 +82,167 @@ public abstract class JedisClusterConnectionHandler implements Closeable {
     return cache.setupNodeIfNotExist(node).getResource();
   }
 
+  /**
+   * @return the pool of the node serving <code>slot</code>, after renewing the slot cache if no node
+   * is known to; any node, which will redirect, if there is still none
+   */
+  public JedisPool getPoolFromSlot(int slot) {
+    JedisPool pool = cache.getSlotPool(slot);
+    if (pool == null) {
+      cache.renewClusterSlots(null);
+      pool = cache.getSlotPool(slot);
+    }
+    if (pool == null) {
+      List<JedisPool> pools = cache.getShuffledNodesPool();
+      if (pools.isEmpty()) {
+        throw new JedisClusterOperationException("No reachable node in cluster.");
+      }
+      pool = pools.get(0);
+    }
+    return pool;
+  }
+
+  public ReadFrom getReadFrom() {
+    return readFrom;
+  }
+
+  public void setReadFrom(ReadFrom readFrom) {
+    this.readFrom = readFrom;
+  }
+
+  /**
+   * @return the pool to read <code>slot</code> from, as chosen by {@link #getReadFrom()}
+   */
+  public JedisPool getReadPoolFromSlot(int slot) {
+    final JedisPool master = getPoolFromSlot(slot);
+    final JedisPool[] replicas = cache.getSlotReplicaPools(slot);
+    switch (readFrom) {
+      case REPLICA_PREFERRED:
+        return replicas.length == 0 ? master
+            : closedOr(replicas[ThreadLocalRandom.current().nextInt(replicas.length)], master);
+      case ROUND_ROBIN:
+        return replicas.length == 0 ? master
+            : closedOr(replicas[Math.floorMod(nextReplica.getAndIncrement(), replicas.length)],
+              master);
+      case LOWEST_LATENCY:
+        return getFastestPool(master, replicas);
+      default:
+        return master;
+    }
+  }
+
+  private JedisPool getFastestPool(JedisPool master, JedisPool[] replicas) {
+    if (replicas.length == 0) {
+      return master;
+    }
+    if (ThreadLocalRandom.current().nextInt(LATENCY_PROBE_INTERVAL) == 0) {
+      final int index = ThreadLocalRandom.current().nextInt(replicas.length + 1);
+      return index == replicas.length ? master : closedOr(replicas[index], master);
+    }
+
+    JedisPool fastest = master;
+    long fastestLatency = getReadLatency(master);
+    for (JedisPool replica : replicas) {
+      final long latency = getReadLatency(replica);
+      if (latency < fastestLatency && !isOpen(replica)) {
+        fastest = replica;
+        fastestLatency = latency;
+      }
+    }
+    return fastest;
+  }
+
+  private long getReadLatency(JedisPool pool) {
+    final ClusterNodeHealth health = nodeHealth.get(pool);
+    // nodes not measured yet come first
+    return health == null ? 0 : health.getAverageLatencyNanos();
+  }
+
+  /**
+   * Takes the round trip of a read from <code>pool</code> into account for
+   * {@link ReadFrom#LOWEST_LATENCY}.
+   */
+  public void recordReadLatency(JedisPool pool, long nanos) {
+    getNodeHealth(pool).recordLatency(nanos);
+  }
+
+  /**
+   * Opens the circuit of a node after <code>failureThreshold</code> consecutive connection
+   * failures. Requests to the node then fail at once with a {@link JedisClusterOperationException}
+   * instead of retrying, and the slot cache is renewed, until a request let through after
+   * <code>openDuration</code> succeeds; every such request that fails renews the cache again. Replicas whose circuit is open are not read from.
+   */
+  public void enableCircuitBreaker(int failureThreshold, Duration openDuration) {
+    if (failureThreshold <= 0) {
+      throw new IllegalArgumentException("failureThreshold must be positive");
+    }
+    this.openNanos = openDuration.toNanos();
+    this.failureThreshold = failureThreshold;
+  }
+
+  public boolean isCircuitBreakerEnabled() {
+    return failureThreshold > 0;
+  }
+
+  public ClusterNodeHealth getNodeHealth(JedisPool pool) {
+    return nodeHealth.computeIfAbsent(pool, p -> new ClusterNodeHealth());
+  }
+
+  private boolean isOpen(JedisPool pool) {
+    final ClusterNodeHealth health = nodeHealth.get(pool);
+    return health != null && health.isOpen();
+  }
+
+  private JedisPool closedOr(JedisPool pool, JedisPool fallback) {
+    return isOpen(pool) ? fallback : pool;
+  }
+
+  /**
+   * @throws JedisClusterOperationException if the circuit of the node is open
+   */
+  public Jedis getConnectionFromPool(JedisPool pool) {
+    if (!getNodeHealth(pool).allowRequest(openNanos)) {
+      throw new JedisClusterOperationException("Circuit of the cluster node is open.");
+    }
+    return pool.getResource();
+  }
+
+  public void recordSuccess(JedisPool pool, long nanos) {
+    getNodeHealth(pool).recordSuccess(nanos);
+  }
+
+  /**
+   * Takes a connection failure of the node of <code>pool</code> into account, renewing the slot
+   * cache if this opens its circuit: the node has then failed too often to be a mere glitch. The
+   * cache is renewed again, at most once per <code>openDuration</code>, as long as requests let
+   * through the open circuit fail, so that the slots are found once a replica took over.
+   */
+  public void recordFailure(JedisPool pool) {
+    if (getNodeHealth(pool).recordFailure(failureThreshold, openNanos)) {
+      renewSlotCache();
+    }
+  }
+
+  public JedisPool getPoolFromNode(HostAndPort node) {
+    return cache.setupNodeIfNotExist(node);
+  }
+
+  public void setAskTarget(byte[] key, HostAndPort node) {
+    cache.setAskTarget(key, node);
+  }
+
+  public HostAndPort getAskTarget(byte[] key) {
+    return cache.getAskTarget(key);
+  }
+
+  public void removeAskTarget(byte[] key) {
+    cache.removeAskTarget(key);
+  }
+
+  public boolean hasAskTargets() {
+    return cache.hasAskTargets();
+  }
+
   public Map<String, JedisPool> getNodes() {
     return cache.getNodes();
   }
@@ -72,16 +261,51 @@ public abstract class JedisClusterConnectionHandler implements Closeable {
     }
   }
 
+  /**
+   * Renews the slot cache on a background thread every <code>period</code>. Redirections and
+   * connection failures then have the cache renewed there too, at most once per
+   * <code>minInterval</code>, rather than by the request that ran into them.
+   */
+  public void enableTopologyRefresh(Duration period, Duration minInterval) {
+    ClusterTopologyRefresher previous = topologyRefresher;
+    topologyRefresher = new ClusterTopologyRefresher(cache, period, minInterval);
+    if (previous != null) {
+      previous.close();
+    }
+  }
+
+  /**
+   * @return the background refresher, or null if {@link #enableTopologyRefresh(Duration, Duration)}
+   * was not called
+   */
+  public ClusterTopologyRefresher getTopologyRefresher() {
+    return topologyRefresher;
+  }
+
   public void renewSlotCache() {
-    cache.renewClusterSlots(null);
+    final ClusterTopologyRefresher refresher = topologyRefresher;
+    if (refresher != null) {
+      refresher.trigger();
+    } else {
+      cache.renewClusterSlots(null);
+    }
   }
 
   public void renewSlotCache(Jedis jedis) {
-    cache.renewClusterSlots(jedis);
+    final ClusterTopologyRefresher refresher = topologyRefresher;
+    if (refresher != null) {
+      refresher.trigger();
+    } else {
+      cache.renewClusterSlots(jedis);
+    }
   }
 
   @Override
   public void close() {
+    if (topologyRefresher != null) {
+      topologyRefresher.close();
+    }
+    nodeHealth.clear();
     cache.reset();
   }
 }
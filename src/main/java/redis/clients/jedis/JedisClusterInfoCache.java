@@ -1,10 +1,13 @@
 package redis.clients.jedis;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -12,6 +15,7 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 
+import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
 import redis.clients.jedis.exceptions.JedisConnectionException;
@@ -21,7 +25,27 @@ import redis.clients.jedis.util.SafeEncoder;
 
 public class JedisClusterInfoCache {
   private final Map<String, JedisPool> nodes = new HashMap<>();
-  private final Map<Integer, JedisPool> slots = new HashMap<>();
+
+  /**
+   * Pool of every slot, indexed by slot. Never modified once published: the slots are changed by
+   * publishing a new array, so that looking a slot up needs no lock.
+   */
+  private volatile JedisPool[] slots = new JedisPool[BinaryJedisCluster.HASHSLOTS];
+
+  /**
+   * READONLY pools of the replicas of every slot, published like {@link #slots}.
+   */
+  private volatile JedisPool[][] replicaSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS][];
+  private final Map<String, JedisPool> replicaNodes = new HashMap<>();
+  private static final JedisPool[] NO_REPLICAS = new JedisPool[0];
+
+  /**
+   * Keys that were answered with ASK, with the node they are migrating to. Keys are cached rather
+   * than slots since the keys of a migrating slot that are not moved yet are still served by the
+   * source node only.
+   */
+  private final Map<ByteBuffer, HostAndPort> askTargets = new ConcurrentHashMap<>();
+  private static final int MAX_ASK_TARGETS = 10000;
 
   private final ReentrantReadWriteLock rwl = new ReentrantReadWriteLock();
   private final Lock r = rwl.readLock();
@@ -105,6 +129,8 @@ public class JedisClusterInfoCache {
     try {
       reset();
       List<Object> slots = jedis.clusterSlots();
+      JedisPool[] newSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS];
+      JedisPool[][] newReplicaSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS][];
 
       for (Object slotInfoObj : slots) {
         List<Object> slotInfo = (List<Object>) slotInfoObj;
@@ -114,6 +140,7 @@ public class JedisClusterInfoCache {
         }
 
         List<Integer> slotNums = getAssignedSlotArray(slotInfo);
+        assignSlotsToReplicas(newReplicaSlots, slotNums, slotInfo);
 
         // hostInfos
         int size = slotInfo.size();
@@ -124,12 +151,14 @@ public class JedisClusterInfoCache {
           }
 
           HostAndPort targetNode = generateHostAndPort(hostInfos);
-          setupNodeIfNotExist(targetNode);
+          JedisPool targetPool = setupNodeIfNotExist(targetNode);
           if (i == MASTER_NODE_INDEX) {
-            assignSlotsToNode(slotNums, targetNode);
+            assignSlotsToPool(newSlots, slotNums, targetPool);
           }
         }
       }
+      this.slots = newSlots;
+      this.replicaSlots = newReplicaSlots;
     } finally {
       w.unlock();
     }
@@ -172,7 +201,8 @@ public class JedisClusterInfoCache {
     List<Object> slots = jedis.clusterSlots();
     w.lock();
     try {
-      this.slots.clear();
+      JedisPool[] newSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS];
+      JedisPool[][] newReplicaSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS][];
 
       for (Object slotInfoObj : slots) {
         List<Object> slotInfo = (List<Object>) slotInfoObj;
@@ -189,15 +219,66 @@ public class JedisClusterInfoCache {
           continue;
         }
 
-        // at this time, we just use master, discard slave information
         HostAndPort targetNode = generateHostAndPort(hostInfos);
-        assignSlotsToNode(slotNums, targetNode);
+        assignSlotsToPool(newSlots, slotNums, setupNodeIfNotExist(targetNode));
+        assignSlotsToReplicas(newReplicaSlots, slotNums, slotInfo);
+      }
+
+      // as renewals are mostly periodic, the topology is usually the same, and the ASK targets of
+      // an ongoing migration still hold
+      if (Arrays.equals(this.slots, newSlots)
+          && Arrays.deepEquals(this.replicaSlots, newReplicaSlots)) {
+        return;
       }
+      askTargets.clear();
+      this.slots = newSlots;
+      this.replicaSlots = newReplicaSlots;
     } finally {
       w.unlock();
     }
   }
 
+  private void assignSlotsToReplicas(JedisPool[][] replicaSlots, List<Integer> slotNums,
+      List<Object> slotInfo) {
+    List<JedisPool> replicas = new ArrayList<>();
+    for (int i = MASTER_NODE_INDEX + 1; i < slotInfo.size(); i++) {
+      @SuppressWarnings("unchecked")
+      List<Object> hostInfos = (List<Object>) slotInfo.get(i);
+      if (!hostInfos.isEmpty()) {
+        replicas.add(setupReplicaIfNotExist(generateHostAndPort(hostInfos)));
+      }
+    }
+    if (!replicas.isEmpty()) {
+      JedisPool[] pools = replicas.toArray(NO_REPLICAS);
+      for (Integer slot : slotNums) {
+        replicaSlots[slot] = pools;
+      }
+    }
+  }
+
+  private JedisPool setupReplicaIfNotExist(final HostAndPort node) {
+    String nodeKey = getNodeKey(node);
+    JedisPool existingPool = replicaNodes.get(nodeKey);
+    if (existingPool != null) return existingPool;
+
+    JedisPool nodePool = new JedisPool(poolConfig, new JedisFactory(node, clientConfig) {
+      @Override
+      public PooledObject<Jedis> makeObject() throws Exception {
+        PooledObject<Jedis> pooled = super.makeObject();
+        try {
+          // lets the replica serve the reads of its master's slots
+          pooled.getObject().readonly();
+        } catch (JedisException e) {
+          pooled.getObject().close();
+          throw e;
+        }
+        return pooled;
+      }
+    });
+    replicaNodes.put(nodeKey, nodePool);
+    return nodePool;
+  }
+
   private HostAndPort generateHostAndPort(List<Object> hostInfos) {
     String host = SafeEncoder.encode((byte[]) hostInfos.get(0));
     int port = ((Long) hostInfos.get(1)).intValue();
@@ -222,8 +303,9 @@ public class JedisClusterInfoCache {
   public void assignSlotToNode(int slot, HostAndPort targetNode) {
     w.lock();
     try {
-      JedisPool targetPool = setupNodeIfNotExist(targetNode);
-      slots.put(slot, targetPool);
+      JedisPool[] newSlots = slots.clone();
+      newSlots[slot] = setupNodeIfNotExist(targetNode);
+      slots = newSlots;
     } finally {
       w.unlock();
     }
@@ -232,15 +314,21 @@ public class JedisClusterInfoCache {
   public void assignSlotsToNode(List<Integer> targetSlots, HostAndPort targetNode) {
     w.lock();
     try {
-      JedisPool targetPool = setupNodeIfNotExist(targetNode);
-      for (Integer slot : targetSlots) {
-        slots.put(slot, targetPool);
-      }
+      JedisPool[] newSlots = slots.clone();
+      assignSlotsToPool(newSlots, targetSlots, setupNodeIfNotExist(targetNode));
+      slots = newSlots;
     } finally {
       w.unlock();
     }
   }
 
+  private static void assignSlotsToPool(JedisPool[] slots, List<Integer> targetSlots,
+      JedisPool targetPool) {
+    for (Integer slot : targetSlots) {
+      slots[slot] = targetPool;
+    }
+  }
+
   public JedisPool getNode(String nodeKey) {
     r.lock();
     try {
@@ -251,12 +339,41 @@ public class JedisClusterInfoCache {
   }
 
   public JedisPool getSlotPool(int slot) {
-    r.lock();
-    try {
-      return slots.get(slot);
-    } finally {
-      r.unlock();
+    return slots[slot];
+  }
+
+  /**
+   * @return the READONLY pools of the replicas serving <code>slot</code>, not to be modified
+   */
+  JedisPool[] getSlotReplicaPools(int slot) {
+    JedisPool[] replicas = replicaSlots[slot];
+    return replicas != null ? replicas : NO_REPLICAS;
+  }
+
+  /**
+   * Remembers that <code>key</code> has moved to <code>node</code> while its slot is migrating,
+   * until the topology changes or {@link #removeAskTarget(byte[])}.
+   */
+  public void setAskTarget(byte[] key, HostAndPort node) {
+    if (askTargets.size() >= MAX_ASK_TARGETS) {
+      askTargets.clear();
     }
+    askTargets.put(ByteBuffer.wrap(key), node);
+  }
+
+  /**
+   * @return the node <code>key</code> was redirected to with ASK, or null
+   */
+  public HostAndPort getAskTarget(byte[] key) {
+    return askTargets.get(ByteBuffer.wrap(key));
+  }
+
+  public void removeAskTarget(byte[] key) {
+    askTargets.remove(ByteBuffer.wrap(key));
+  }
+
+  public boolean hasAskTargets() {
+    return !askTargets.isEmpty();
   }
 
   public Map<String, JedisPool> getNodes() {
@@ -286,21 +403,31 @@ public class JedisClusterInfoCache {
     w.lock();
     try {
       for (JedisPool pool : nodes.values()) {
-        try {
-          if (pool != null) {
-            pool.destroy();
-          }
-        } catch (Exception e) {
-          // pass
-        }
+        destroy(pool);
+      }
+      for (JedisPool pool : replicaNodes.values()) {
+        destroy(pool);
       }
       nodes.clear();
-      slots.clear();
+      replicaNodes.clear();
+      slots = new JedisPool[BinaryJedisCluster.HASHSLOTS];
+      replicaSlots = new JedisPool[BinaryJedisCluster.HASHSLOTS][];
+      askTargets.clear();
     } finally {
       w.unlock();
     }
   }
 
+  private static void destroy(JedisPool pool) {
+    try {
+      if (pool != null) {
+        pool.destroy();
+      }
+    } catch (Exception e) {
+      // pass
+    }
+  }
+
   public static String getNodeKey(HostAndPort hnp) {
     return hnp.getHost() + ":" + hnp.getPort();
   }
@@ -0,0 +1,299 @@
+package redis.clients.jedis;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import redis.clients.jedis.args.StreamedValue;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisAskDataException;
+import redis.clients.jedis.exceptions.JedisClusterOperationException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisMovedDataException;
+import redis.clients.jedis.exceptions.JedisRedirectionException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+/**
+ * Pipeline over a Redis Cluster. Commands are recorded with the slot of their key and sent by
+ * {@link #sync()}, grouped by the node serving the slot. The commands of every node are written
+ * before any reply is read, so that the nodes work on their share at the same time.
+ * <p>
+ * Commands redirected with MOVED or ASK are sent again to the node they were redirected to, up to
+ * <code>maxAttempts</code> times in all, while the other commands are not sent again. A connection
+ * failure is thrown by {@link #sync()} once the other nodes are done, the commands of that node
+ * are not retried since they may have been executed.
+ * <p>
+ * Only commands with a single key, or whose keys share a slot, can be pipelined. Transactions are
+ * not supported.
+ */
+public class JedisClusterPipeline extends PipelineBase implements Closeable {
+
+  private final JedisClusterConnectionHandler connectionHandler;
+  private final int maxAttempts;
+  private final CommandRecorder recorder = new CommandRecorder();
+  private List<PipelinedCommand> commands = new ArrayList<>();
+
+  public JedisClusterPipeline(JedisClusterConnectionHandler connectionHandler, int maxAttempts) {
+    this.connectionHandler = connectionHandler;
+    this.maxAttempts = maxAttempts;
+  }
+
+  @Override
+  protected Client getClient(String key) {
+    recorder.slot = JedisClusterCRC16.getSlot(key);
+    return recorder;
+  }
+
+  @Override
+  protected Client getClient(byte[] key) {
+    recorder.slot = JedisClusterCRC16.getSlot(key);
+    return recorder;
+  }
+
+  @Override
+  protected <T> Response<T> getResponse(Builder<T> builder) {
+    Response<T> response = new Response<>(builder);
+    commands.add(recorder.take(response));
+    return response;
+  }
+
+  @Override
+  protected boolean hasPipelinedResponse() {
+    return !commands.isEmpty();
+  }
+
+  @Override
+  protected int getPipelinedResponseLength() {
+    return commands.size();
+  }
+
+  /**
+   * Sends the recorded commands and reads their replies into their {@link Response}.
+   * @throws JedisConnectionException if a node could not be reached, after the replies of the other
+   * nodes are read
+   */
+  public void sync() {
+    List<PipelinedCommand> pending = commands;
+    commands = new ArrayList<>();
+
+    RuntimeException failure = null;
+    for (int attemptsLeft = maxAttempts; !pending.isEmpty(); attemptsLeft--) {
+      final Round round = new Round(attemptsLeft > 1);
+      round.run(pending);
+      pending = round.redirected;
+      if (failure == null) {
+        failure = round.failure;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Like {@link #sync()}, and returns the results in the order the commands were recorded.
+   * @return the results, or the {@link JedisDataException} of the commands that failed
+   */
+  public List<Object> syncAndReturnAll() {
+    final List<PipelinedCommand> all = commands;
+    sync();
+
+    final List<Object> formatted = new ArrayList<>(all.size());
+    for (PipelinedCommand command : all) {
+      try {
+        formatted.add(command.response.get());
+      } catch (JedisDataException e) {
+        formatted.add(e);
+      }
+    }
+    return formatted;
+  }
+
+  @Override
+  public void close() {
+    sync();
+  }
+
+  /**
+   * One pass over the nodes: writes every command to its node, then reads the replies.
+   */
+  private final class Round {
+
+    private final boolean followRedirections;
+    private final List<PipelinedCommand> redirected = new ArrayList<>();
+    private RuntimeException failure;
+    private boolean slotCacheRenewed;
+
+    Round(boolean followRedirections) {
+      this.followRedirections = followRedirections;
+    }
+
+    void run(List<PipelinedCommand> pending) {
+      final Map<JedisPool, List<PipelinedCommand>> groups = new LinkedHashMap<>();
+      for (PipelinedCommand command : pending) {
+        final JedisPool pool = command.redirect == null
+            ? connectionHandler.getPoolFromSlot(command.slot)
+            : connectionHandler.getPoolFromNode(command.redirect.getTargetNode());
+        List<PipelinedCommand> group = groups.get(pool);
+        if (group == null) {
+          group = new ArrayList<>();
+          groups.put(pool, group);
+        }
+        group.add(command);
+      }
+
+      final Map<JedisPool, Jedis> connections = new LinkedHashMap<>();
+      // connections whose replies were read, in the order of connections
+      int read = 0;
+      try {
+        for (Map.Entry<JedisPool, List<PipelinedCommand>> group : groups.entrySet()) {
+          try {
+            final Jedis jedis = group.getKey().getResource();
+            connections.put(group.getKey(), jedis);
+            write(jedis.getClient(), group.getValue());
+          } catch (JedisConnectionException e) {
+            failed(e);
+          }
+        }
+
+        for (Map.Entry<JedisPool, Jedis> connection : connections.entrySet()) {
+          read(connection.getValue(), groups.get(connection.getKey()));
+          read++;
+        }
+      } finally {
+        int i = 0;
+        for (Jedis jedis : connections.values()) {
+          if (i++ >= read) {
+            // left with unread replies by an unexpected exception, they must not be reused
+            jedis.getClient().setBroken();
+          }
+          jedis.close();
+        }
+      }
+
+      if (failure instanceof JedisConnectionException && !slotCacheRenewed) {
+        connectionHandler.renewSlotCache();
+      }
+    }
+
+    private void write(Client client, List<PipelinedCommand> group) {
+      for (PipelinedCommand command : group) {
+        if (command.redirect instanceof JedisAskDataException) {
+          client.asking();
+        }
+        client.sendCommand(command.command, command.args);
+      }
+      client.flush();
+    }
+
+    private void read(Jedis jedis, List<PipelinedCommand> group) {
+      final Client client = jedis.getClient();
+      if (client.isBroken()) {
+        // the write failed, already reported
+        return;
+      }
+
+      boolean moved = false;
+      try {
+        for (PipelinedCommand command : group) {
+          if (command.redirect instanceof JedisAskDataException) {
+            try {
+              client.readProtocolWithCheckingBroken(); // OK to ASKING
+            } catch (JedisDataException e) {
+              // the command itself is answered with an error too
+            }
+          }
+
+          Object data;
+          try {
+            data = client.readProtocolWithCheckingBroken();
+          } catch (JedisRedirectionException e) {
+            if (followRedirections) {
+              command.redirect = e;
+              redirected.add(command);
+              moved |= e instanceof JedisMovedDataException;
+              continue;
+            }
+            data = e;
+          } catch (JedisDataException e) {
+            data = e;
+          }
+
+          command.redirect = null;
+          try {
+            command.response.set(data);
+          } catch (RuntimeException e) {
+            // thrown by a consumer of the response
+            if (failure == null) {
+              failure = e;
+            }
+          }
+        }
+      } catch (JedisConnectionException e) {
+        failed(e);
+        return;
+      }
+
+      if (moved && !slotCacheRenewed) {
+        // rebuilds the slot cache, as recommended by the Redis Cluster specification
+        connectionHandler.renewSlotCache(jedis);
+        slotCacheRenewed = true;
+      }
+    }
+
+    private void failed(JedisConnectionException e) {
+      if (!(failure instanceof JedisConnectionException)) {
+        failure = e;
+      }
+    }
+  }
+
+  private static final class PipelinedCommand {
+
+    final int slot;
+    final ProtocolCommand command;
+    final byte[][] args;
+    final Response<?> response;
+    JedisRedirectionException redirect;
+
+    PipelinedCommand(int slot, ProtocolCommand command, byte[][] args, Response<?> response) {
+      this.slot = slot;
+      this.command = command;
+      this.args = args;
+      this.response = response;
+    }
+  }
+
+  /**
+   * Stands for the connection to the node of a key: records the command instead of sending it.
+   */
+  private static final class CommandRecorder extends Client {
+
+    private int slot;
+    private ProtocolCommand command;
+    private byte[][] args;
+
+    @Override
+    public void sendCommand(final ProtocolCommand cmd, final byte[]... args) {
+      this.command = cmd;
+      this.args = args;
+    }
+
+    @Override
+    public void sendCommand(final ProtocolCommand cmd, final byte[][] args,
+        final StreamedValue... values) {
+      throw new JedisClusterOperationException(
+          "Streamed values can not be pipelined to Redis Cluster.");
+    }
+
+    PipelinedCommand take(Response<?> response) {
+      final PipelinedCommand pipelined = new PipelinedCommand(slot, command, args, response);
+      command = null;
+      args = null;
+      return pipelined;
+    }
+  }
+}
@@ -197,6 +197,7 @@ public class JedisFactory implements PooledObjectFactory<Jedis> {
   @Override
   public void passivateObject(PooledObject<Jedis> pooledJedis) throws Exception {
     // TODO maybe should select db 0? Not sure right now.
+    pooledJedis.getObject().getClient().shrinkBuffers();
   }
 
   @Override
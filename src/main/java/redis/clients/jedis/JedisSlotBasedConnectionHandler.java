@@ -99,7 +99,7 @@ public class JedisSlotBasedConnectionHandler extends JedisClusterConnectionHandl
     } else {
       // It's abnormal situation for cluster mode that we have just nothing for slot.
       // Try to rediscover state
-      renewSlotCache();
+      cache.renewClusterSlots(null);
       connectionPool = cache.getSlotPool(slot);
       if (connectionPool != null) {
         return connectionPool.getResource();
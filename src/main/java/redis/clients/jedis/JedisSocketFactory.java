@@ -21,6 +21,34 @@ public interface JedisSocketFactory {
    */
   Socket createSocket() throws JedisConnectionException;
 
+  /**
+   * @return the transport that {@link Connection} uses to get the streams of the created socket
+   */
+  default JedisTransport getTransport() {
+    return DefaultJedisTransport.INSTANCE;
+  }
+
+  /**
+   * @return size of the buffer that {@link Connection} reads replies through
+   */
+  default int getReadBufferSize() {
+    return Protocol.DEFAULT_BUFFER_SIZE;
+  }
+
+  /**
+   * @return size of the buffer that {@link Connection} writes commands through
+   */
+  default int getWriteBufferSize() {
+    return Protocol.DEFAULT_BUFFER_SIZE;
+  }
+
+  /**
+   * @return size up to which the buffers of {@link Connection} may grow, 0 if they keep their size
+   */
+  default int getMaxBufferSize() {
+    return 0;
+  }
+
   void updateHostAndPort(HostAndPort hostAndPort);
 
   @Deprecated
@@ -0,0 +1,43 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * JedisTransport: decides how the bytes of a connection travel between Jedis and the socket.
+ * <p>
+ * A {@link JedisSocketFactory} asks the transport for an unconnected socket, configures and
+ * connects it (possibly wrapping it, e.g. for SSL), and {@link Connection} then asks the transport
+ * for the streams that the protocol layer reads from and writes to.
+ * <p>
+ * Two implementations are provided:
+ * <ul>
+ * <li>{@link DefaultJedisTransport} - plain {@link java.net.Socket} streams (the default)</li>
+ * <li>{@link SocketChannelTransport} - {@link java.nio.channels.SocketChannel} I/O through pooled
+ * direct buffers</li>
+ * </ul>
+ */
+public interface JedisTransport {
+
+  /**
+   * @return a new, unconnected socket
+   * @throws IOException
+   */
+  Socket createSocket() throws IOException;
+
+  /**
+   * @param socket a connected socket, as returned by the {@link JedisSocketFactory}
+   * @return the stream to read replies from
+   * @throws IOException
+   */
+  InputStream getInputStream(Socket socket) throws IOException;
+
+  /**
+   * @param socket a connected socket, as returned by the {@link JedisSocketFactory}
+   * @return the stream to write commands to
+   * @throws IOException
+   */
+  OutputStream getOutputStream(Socket socket) throws IOException;
+}
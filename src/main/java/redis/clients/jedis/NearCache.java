@@ -0,0 +1,513 @@
+package redis.clients.jedis;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Client side cache for GET and HGET replies, kept coherent by Redis server-assisted invalidation
+ * (CLIENT TRACKING, Redis 6+).
+ * <p>
+ * For every Redis node a dedicated connection subscribes to <code>__redis__:invalidate</code>, and
+ * each data connection that reads through the cache turns on CLIENT TRACKING with a redirect to that
+ * connection. Whenever a tracked key changes, the server notifies the subscriber and the key is
+ * dropped from the cache. If the subscriber loses its connection, invalidations may have been
+ * missed, so the whole cache is cleared and reads bypass it until the subscriber is back.
+ * <p>
+ * Enable it by passing the same instance to every client that should share it:
+ * <pre>
+ * NearCache cache = NearCache.builder().maxSize(10_000).ttlMillis(60_000).build();
+ * JedisPool pool = new JedisPool(hostAndPort, DefaultJedisClientConfig.builder().nearCache(cache).build());
+ * </pre>
+ * Entries are per key: a key holds its string value and any hash fields that were read from it.
+ * Keys are cached by name only, so an instance must be used with a single database (reads on a
+ * connection that has SELECTed another database bypass the cache). Invalidations are asynchronous:
+ * a read right after a write may still see the previous value for a moment.
+ */
+public class NearCache implements Closeable {
+
+  public enum EvictionPolicy {
+    /**
+     * Evict the least recently read key.
+     */
+    LRU,
+    /**
+     * Evict the least frequently read key among the oldest few.
+     */
+    LFU
+  }
+
+  public static final String INVALIDATION_CHANNEL = "__redis__:invalidate";
+
+  private static final Logger log = LoggerFactory.getLogger(NearCache.class);
+
+  /**
+   * Marks a cached nil reply.
+   */
+  private static final byte[] NIL = new byte[0];
+
+  private static final int LFU_SAMPLES = 5;
+
+  private final int maxSize;
+  private final EvictionPolicy evictionPolicy;
+  private final long ttlNanos;
+  private final long reconnectDelayMillis;
+
+  private final LinkedHashMap<Key, Entry> entries;
+  private final Map<HostAndPort, InvalidationListener> listeners = new ConcurrentHashMap<>();
+  private volatile boolean closed = false;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  private NearCache(int maxSize, EvictionPolicy evictionPolicy, long ttlMillis,
+      long reconnectDelayMillis) {
+    this.maxSize = maxSize;
+    this.evictionPolicy = evictionPolicy;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.reconnectDelayMillis = reconnectDelayMillis;
+    this.entries = new LinkedHashMap<>(16, 0.75f, evictionPolicy == EvictionPolicy.LRU);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public EvictionPolicy getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
+  /**
+   * @return number of keys currently cached
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return hits / (hits + misses), or 0 if nothing was read yet
+   */
+  public double getHitRatio() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  /**
+   * @return number of keys dropped to stay within {@link #getMaxSize()}
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return number of cached keys dropped because the server reported a change
+   */
+  public long getInvalidationCount() {
+    return invalidations.sum();
+  }
+
+  public void resetStats() {
+    hits.reset();
+    misses.reset();
+    evictions.reset();
+    invalidations.reset();
+  }
+
+  /**
+   * Drops a key, with its value and hash fields, from the cache.
+   * @param key
+   */
+  public void invalidate(final byte[] key) {
+    synchronized (entries) {
+      if (entries.remove(new Key(key)) != null) {
+        invalidations.increment();
+      }
+    }
+  }
+
+  public void invalidate(final String key) {
+    invalidate(SafeEncoder.encode(key));
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  /**
+   * Stops the invalidation subscribers and clears the cache. Clients created with this cache then
+   * read from the server directly.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    for (InvalidationListener listener : listeners.values()) {
+      listener.stop();
+    }
+    listeners.clear();
+    clear();
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * @return the invalidation subscriber for <code>node</code>, started on first use
+   */
+  InvalidationListener getListener(final HostAndPort node, final JedisClientConfig config) {
+    if (closed) {
+      return null;
+    }
+    return listeners.computeIfAbsent(node, n -> {
+      InvalidationListener listener = new InvalidationListener(n, config);
+      listener.start();
+      return listener;
+    });
+  }
+
+  /**
+   * @return the cached array itself, which callers must copy before handing it out
+   */
+  byte[] get(final InvalidationListener listener, final byte[] key, final Supplier<byte[]> loader) {
+    final Key k = new Key(key);
+    Entry entry;
+    synchronized (entries) {
+      entry = lookup(k);
+      if (entry != null && entry.value != null) {
+        hits.increment();
+        return entry.value == NIL ? null : entry.value;
+      }
+      entry = reserve(k, entry);
+    }
+    misses.increment();
+    final int generation = listener.getGeneration();
+    final byte[] value = loader.get();
+    // if the entry was invalidated in the meantime it is no longer in the map and this is a no-op
+    entry.value = value == null ? NIL : value;
+    checkGeneration(listener, generation, key);
+    return value;
+  }
+
+  /**
+   * @return the cached array itself, which callers must copy before handing it out
+   */
+  byte[] hget(final InvalidationListener listener, final byte[] key, final byte[] field,
+      final Supplier<byte[]> loader) {
+    final Key k = new Key(key);
+    final Key f = new Key(field);
+    Entry entry;
+    synchronized (entries) {
+      entry = lookup(k);
+      if (entry != null) {
+        byte[] value = entry.fields.get(f);
+        if (value != null) {
+          hits.increment();
+          return value == NIL ? null : value;
+        }
+      }
+      entry = reserve(k, entry);
+    }
+    misses.increment();
+    final int generation = listener.getGeneration();
+    final byte[] value = loader.get();
+    entry.fields.put(f.copy(), value == null ? NIL : value);
+    checkGeneration(listener, generation, key);
+    return value;
+  }
+
+  /**
+   * A reply read while the subscriber was reconnecting may never be invalidated, so it must not
+   * stay in the cache.
+   */
+  private void checkGeneration(InvalidationListener listener, int generation, byte[] key) {
+    if (listener.getGeneration() != generation) {
+      synchronized (entries) {
+        entries.remove(new Key(key));
+      }
+    }
+  }
+
+  private Entry lookup(Key key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (ttlNanos > 0 && System.nanoTime() - entry.createdAt > ttlNanos) {
+      entries.remove(key);
+      return null;
+    }
+    entry.frequency++;
+    return entry;
+  }
+
+  private Entry reserve(Key key, Entry existing) {
+    if (existing != null) {
+      return existing;
+    }
+    Entry entry = new Entry();
+    entries.put(key.copy(), entry);
+    while (entries.size() > maxSize) {
+      evictOne();
+    }
+    return entry;
+  }
+
+  private void evictOne() {
+    Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+    Key victim = iterator.next().getKey();
+    if (evictionPolicy == EvictionPolicy.LFU) {
+      int lowest = Integer.MAX_VALUE;
+      iterator = entries.entrySet().iterator();
+      for (int i = 0; i < LFU_SAMPLES && iterator.hasNext(); i++) {
+        Map.Entry<Key, Entry> candidate = iterator.next();
+        if (candidate.getValue().frequency < lowest) {
+          lowest = candidate.getValue().frequency;
+          victim = candidate.getKey();
+        }
+      }
+    }
+    entries.remove(victim);
+    evictions.increment();
+  }
+
+  private void invalidateAll(List<Object> keys) {
+    synchronized (entries) {
+      for (Object key : keys) {
+        if (entries.remove(new Key((byte[]) key)) != null) {
+          invalidations.increment();
+        }
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NearCache{size=" + size() + ", maxSize=" + maxSize + ", evictionPolicy="
+        + evictionPolicy + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "}";
+  }
+
+  private static final class Key {
+    private final byte[] data;
+    private final int hash;
+
+    Key(byte[] data) {
+      this(data, Arrays.hashCode(data));
+    }
+
+    private Key(byte[] data, int hash) {
+      this.data = data;
+      this.hash = hash;
+    }
+
+    /**
+     * @return a key that the caller can't change by reusing its array, to be kept in a map
+     */
+    Key copy() {
+      return new Key(data.clone(), hash);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key && Arrays.equals(data, ((Key) other).data);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Entry {
+    final long createdAt = System.nanoTime();
+    final Map<Key, byte[]> fields = new ConcurrentHashMap<>();
+    volatile byte[] value;
+    int frequency; // guarded by the entries lock
+  }
+
+  /**
+   * Holds the connection that receives the invalidation messages of one node. The generation
+   * changes every time that connection is (re)established or lost; data connections compare it to
+   * know when their CLIENT TRACKING redirect has to be renewed.
+   */
+  final class InvalidationListener implements Runnable {
+
+    private final HostAndPort node;
+    private final JedisClientConfig config;
+    private final Thread thread;
+    private volatile Jedis subscriber;
+    private volatile long clientId = -1;
+    private volatile int generation = 0;
+    private volatile boolean running = true;
+
+    InvalidationListener(HostAndPort node, JedisClientConfig config) {
+      this.node = node;
+      this.config = config;
+      this.thread = new Thread(this, "jedis-near-cache-" + node);
+      this.thread.setDaemon(true);
+    }
+
+    void start() {
+      thread.start();
+    }
+
+    /**
+     * @return the id to redirect CLIENT TRACKING to, or -1 while not subscribed
+     */
+    long getClientId() {
+      return clientId;
+    }
+
+    int getGeneration() {
+      return generation;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void run() {
+      while (running) {
+        try (Jedis jedis = new Jedis(node, config)) {
+          subscriber = jedis;
+          long id = jedis.clientId();
+          Client client = jedis.getClient();
+          client.subscribe(INVALIDATION_CHANNEL);
+          client.setTimeoutInfinite();
+          client.getObjectMultiBulkReply(); // subscribe confirmation
+          connected(id);
+          while (running) {
+            List<Object> message = client.getUnflushedObjectMultiBulkReply();
+            if (message.size() == 3 && "message".equals(SafeEncoder.encode((byte[]) message.get(0)))) {
+              Object payload = message.get(2);
+              if (payload == null) {
+                // FLUSHDB, FLUSHALL, or the server's tracking table overflowed
+                clear();
+              } else {
+                invalidateAll((List<Object>) payload);
+              }
+            }
+          }
+        } catch (JedisException e) {
+          if (running) {
+            log.warn("Near cache invalidation connection to {} failed.", node, e);
+          }
+        } finally {
+          subscriber = null;
+          disconnected();
+        }
+        if (running) {
+          try {
+            Thread.sleep(reconnectDelayMillis);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          }
+        }
+      }
+    }
+
+    private void connected(long id) {
+      clientId = id;
+      generation++;
+      // invalidations sent while nobody was subscribed are lost
+      clear();
+    }
+
+    private void disconnected() {
+      clientId = -1;
+      generation++;
+      clear();
+    }
+
+    void stop() {
+      running = false;
+      Jedis jedis = subscriber;
+      if (jedis != null) {
+        try {
+          jedis.getClient().disconnect();
+        } catch (JedisConnectionException e) {
+          // ignored, the thread is exiting anyway
+        }
+      }
+      thread.interrupt();
+    }
+  }
+
+  public static class Builder {
+
+    private int maxSize = 10_000;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    private long ttlMillis = 0;
+    private long reconnectDelayMillis = 1000;
+
+    private Builder() {
+    }
+
+    public NearCache build() {
+      if (maxSize <= 0) {
+        throw new IllegalArgumentException("maxSize must be positive");
+      }
+      return new NearCache(maxSize, evictionPolicy, ttlMillis, reconnectDelayMillis);
+    }
+
+    /**
+     * @param maxSize maximum number of keys to keep
+     */
+    public Builder maxSize(int maxSize) {
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    public Builder evictionPolicy(EvictionPolicy evictionPolicy) {
+      this.evictionPolicy = evictionPolicy;
+      return this;
+    }
+
+    /**
+     * @param ttlMillis how long a key may be served from the cache, 0 (default) for no limit
+     */
+    public Builder ttlMillis(long ttlMillis) {
+      this.ttlMillis = ttlMillis;
+      return this;
+    }
+
+    /**
+     * @param reconnectDelayMillis pause between attempts to re-establish an invalidation connection
+     */
+    public Builder reconnectDelayMillis(long reconnectDelayMillis) {
+      this.reconnectDelayMillis = reconnectDelayMillis;
+      return this;
+    }
+  }
+}
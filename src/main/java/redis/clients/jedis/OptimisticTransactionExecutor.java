@@ -0,0 +1,208 @@
+package redis.clients.jedis;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Runs optimistic transactions, retrying them while the watched keys are changed by someone else.
+ * <p>
+ * An attempt takes two round trips: WATCH is pipelined with the reads, then MULTI, the writes and
+ * EXEC are sent in a single flush. When EXEC is aborted because a watched key has changed, the
+ * transaction is run again after a random pause of up to <code>minBackoffMillis</code> doubled at
+ * every retry, capped at <code>maxBackoffMillis</code>. For example:
+ * <pre>
+ * OptimisticTransactionExecutor executor = OptimisticTransactionExecutor.builder().build();
+ * executor.execute(jedis, p -&gt; p.get("counter"),
+ *   (counter, p) -&gt; p.set("counter", String.valueOf(Long.parseLong(counter.get()) * 2)),
+ *   "counter");
+ * </pre>
+ * An instance can be shared by threads, each with its own connection, and keeps conflict and retry
+ * counts to help tune contended keys.
+ */
+public class OptimisticTransactionExecutor {
+
+  private final int maxAttempts;
+  private final long minBackoffMillis;
+  private final long maxBackoffMillis;
+
+  private final LongAdder commits = new LongAdder();
+  private final LongAdder conflicts = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder aborts = new LongAdder();
+
+  private OptimisticTransactionExecutor(int maxAttempts, long minBackoffMillis,
+      long maxBackoffMillis) {
+    this.maxAttempts = maxAttempts;
+    this.minBackoffMillis = minBackoffMillis;
+    this.maxBackoffMillis = maxBackoffMillis;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @param jedis connection to run the transaction on
+   * @param reads queues the reads on the pipeline, after WATCH, and returns what the writes need,
+   *          typically the {@link Response} of the reads
+   * @param writes queues the writes on the pipeline, inside MULTI, with the reads at hand
+   * @param keys keys to WATCH
+   * @return the EXEC reply, or null if every attempt was aborted by a change of the watched keys
+   */
+  public <R> List<Object> execute(Jedis jedis, Function<? super Pipeline, R> reads,
+      BiConsumer<? super R, ? super Pipeline> writes, String... keys) {
+    return execute(jedis, p -> p.watch(keys), reads, writes);
+  }
+
+  /**
+   * @see #execute(Jedis, Function, BiConsumer, String...)
+   */
+  public <R> List<Object> execute(Jedis jedis, Function<? super Pipeline, R> reads,
+      BiConsumer<? super R, ? super Pipeline> writes, byte[]... keys) {
+    return execute(jedis, p -> p.watch(keys), reads, writes);
+  }
+
+  private <R> List<Object> execute(Jedis jedis, Function<Pipeline, Response<String>> watch,
+      Function<? super Pipeline, R> reads, BiConsumer<? super R, ? super Pipeline> writes) {
+    for (int attempt = 0; attempt < maxAttempts; attempt++) {
+      if (attempt > 0) {
+        retries.increment();
+        sleep(attempt);
+      }
+
+      final Pipeline pipeline = jedis.pipelined();
+      final List<Object> result;
+      try {
+        watch.apply(pipeline);
+        final R read = reads.apply(pipeline);
+        pipeline.sync();
+
+        pipeline.multi();
+        writes.accept(read, pipeline);
+        final Response<List<Object>> exec = pipeline.exec();
+        pipeline.sync();
+        result = exec.get();
+      } catch (RuntimeException e) {
+        if (!jedis.getClient().isBroken()) {
+          // leaves the connection as it was found
+          pipeline.clear();
+          jedis.unwatch();
+        }
+        throw e;
+      }
+
+      if (result != null) {
+        commits.increment();
+        return result;
+      }
+      conflicts.increment();
+    }
+
+    aborts.increment();
+    return null;
+  }
+
+  private void sleep(int attempt) {
+    final long bound = Math.min(maxBackoffMillis, minBackoffMillis << Math.min(attempt - 1, 30));
+    if (bound <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JedisException(e);
+    }
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * @return number of transactions that were executed
+   */
+  public long getCommitCount() {
+    return commits.sum();
+  }
+
+  /**
+   * @return number of attempts aborted because a watched key had changed
+   */
+  public long getConflictCount() {
+    return conflicts.sum();
+  }
+
+  /**
+   * @return number of attempts made after a conflict
+   */
+  public long getRetryCount() {
+    return retries.sum();
+  }
+
+  /**
+   * @return number of transactions given up after <code>maxAttempts</code> conflicts
+   */
+  public long getAbortCount() {
+    return aborts.sum();
+  }
+
+  /**
+   * @return conflicts / attempts, or 0 if nothing was run yet
+   */
+  public double getConflictRatio() {
+    final long conflicts = getConflictCount();
+    final long attempts = conflicts + getCommitCount();
+    return attempts == 0 ? 0 : (double) conflicts / attempts;
+  }
+
+  public static class Builder {
+
+    private int maxAttempts = 5;
+    private long minBackoffMillis = 1;
+    private long maxBackoffMillis = 100;
+
+    private Builder() {
+    }
+
+    public OptimisticTransactionExecutor build() {
+      if (maxAttempts <= 0) {
+        throw new IllegalArgumentException("maxAttempts must be positive");
+      }
+      if (minBackoffMillis < 0 || maxBackoffMillis < minBackoffMillis) {
+        throw new IllegalArgumentException("0 <= minBackoffMillis <= maxBackoffMillis is required");
+      }
+      return new OptimisticTransactionExecutor(maxAttempts, minBackoffMillis, maxBackoffMillis);
+    }
+
+    /**
+     * @param maxAttempts number of times a transaction is run before giving up
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * @param minBackoffMillis bound of the pause before the first retry, doubled at every retry
+     */
+    public Builder minBackoffMillis(long minBackoffMillis) {
+      this.minBackoffMillis = minBackoffMillis;
+      return this;
+    }
+
+    /**
+     * @param maxBackoffMillis bound of the pause before any retry
+     */
+    public Builder maxBackoffMillis(long maxBackoffMillis) {
+      this.maxBackoffMillis = maxBackoffMillis;
+      return this;
+    }
+  }
+}
@@ -3,13 +3,48 @@ package redis.clients.jedis;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
 
 public class Pipeline extends MultiKeyPipelineBase implements Closeable {
 
   private MultiResponseBuilder currentMulti;
 
+  private int maxInFlight;
+
+  private boolean fullDuplex;
+  private DuplexReader duplexReader;
+
+  private boolean compact;
+  /**
+   * Results of the commands sent in compact mode whose reply has been read.
+   */
+  private ArrayList<Object> compactResults = new ArrayList<>();
+
+  /**
+   * Number of commands flushed and handed to the reader at once in full duplex mode.
+   */
+  private static final int DUPLEX_BATCH_SIZE = 64;
+
+  /**
+   * Threads reading the replies of full duplex pipelines. A thread only runs while a pipeline has
+   * replies to read, so a pipeline that is never synced does not hold one.
+   */
+  private static final Executor DUPLEX_READERS = Executors.newCachedThreadPool(r -> {
+    Thread thread = new Thread(r, "jedis-pipeline-reader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private class MultiResponseBuilder extends Builder<List<Object>> {
     private List<Response<?>> responses = new ArrayList<>();
 
@@ -51,15 +86,152 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
 
   @Override
   protected <T> Response<T> getResponse(Builder<T> builder) {
-    if (currentMulti != null) {
-      super.getResponse(BuilderFactory.STRING); // Expected QUEUED
+    final Response<T> lr;
+    if (compact) {
+      enqueueBuilder(builder);
+      lr = null;
+    } else if (currentMulti != null) {
+      enqueue(BuilderFactory.STRING); // Expected QUEUED
 
-      Response<T> lr = new Response<>(builder);
+      lr = new Response<>(builder);
       currentMulti.addResponse(lr);
-      return lr;
     } else {
+      lr = enqueue(builder);
+    }
+
+    if (maxInFlight > 0 && getPipelinedResponseLength() >= maxInFlight) {
+      drain(getPipelinedResponseLength() - maxInFlight / 2);
+    }
+    return lr;
+  }
+
+  /**
+   * Bounds the number of commands whose reply has not been read yet. Once there are
+   * <code>maxInFlight</code> of them, the pipeline is flushed and the replies of the older half are
+   * read into their {@link Response}. Memory use then stays constant however many commands are
+   * pipelined, as long as the responses are not kept, and the replies can never pile up in the
+   * socket buffers until both ends block on writing.
+   * <p>
+   * Commands are also flushed whenever the output buffer is full. 0, the default, never reads a
+   * reply before {@link #sync()}.
+   */
+  public void setMaxInFlight(int maxInFlight) {
+    if (maxInFlight < 0) {
+      throw new IllegalArgumentException("maxInFlight < 0");
+    }
+    this.maxInFlight = maxInFlight;
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * In full duplex mode, a reader thread reads the replies while the calling thread is still
+   * writing commands, instead of {@link #sync()} reading them all once everything is written.
+   * Sending and receiving then overlap, which shortens large batch loads. Commands are flushed and
+   * handed to the reader in batches, so the reader never waits for the reply of a command that is
+   * still in the output buffer; the last batch is handed over by {@link #sync()}.
+   * <p>
+   * Consumers registered with {@link Response#onReply(java.util.function.Consumer)} are called on
+   * the reader thread. A positive {@link #setMaxInFlight(int) maxInFlight} makes the calling thread
+   * wait for the reader instead of reading replies itself. {@link #syncAndReturnAll()} is not
+   * supported in this mode.
+   * @throws IllegalStateException if there are commands whose reply has not been read
+   */
+  public void setFullDuplex(boolean fullDuplex) {
+    if (hasPipelinedResponse()) {
+      throw new IllegalStateException("Please sync the pipeline before changing its mode.");
+    }
+    if (fullDuplex && compact) {
+      throw new IllegalStateException("Full duplex mode is not supported in compact mode.");
+    }
+    this.fullDuplex = fullDuplex;
+  }
+
+  public boolean isFullDuplex() {
+    return fullDuplex;
+  }
+
+  /**
+   * In compact mode, commands return null instead of a {@link Response}: the pipeline only keeps
+   * the builder of each reply until it is read, a reference per command, and the results are
+   * returned by {@link #syncAndReturnAll()}. Meant for pipelines of millions of commands, such as
+   * bulk loads, whose results are not used one by one. {@link #sync()} drops the results.
+   * <p>
+   * With a positive {@link #setMaxInFlight(int) maxInFlight}, the replies read early are built and
+   * kept until then; common replies like <code>OK</code> and small integers are shared constants,
+   * so this costs a reference per command. MULTI and full duplex mode are not supported.
+   * @throws IllegalStateException if there are commands whose reply has not been read
+   */
+  public void setCompact(boolean compact) {
+    if (hasPipelinedResponse()) {
+      throw new IllegalStateException("Please sync the pipeline before changing its mode.");
+    }
+    if (compact && (fullDuplex || currentMulti != null)) {
+      throw new IllegalStateException(
+          "Compact mode is not supported in full duplex mode nor inside MULTI.");
+    }
+    this.compact = compact;
+  }
+
+  public boolean isCompact() {
+    return compact;
+  }
+
+  @Override
+  protected boolean hasPipelinedResponse() {
+    return super.hasPipelinedResponse() || duplexReader != null;
+  }
+
+  private <T> Response<T> enqueue(Builder<T> builder) {
+    if (!fullDuplex) {
       return super.getResponse(builder);
     }
+
+    if (duplexReader == null) {
+      duplexReader = new DuplexReader(maxInFlight);
+    }
+    final Response<T> lr = new Response<>(builder);
+    duplexReader.add(lr);
+    return lr;
+  }
+
+  /**
+   * Reads the next <code>count</code> replies one by one into their {@link Response}, or into the
+   * results in compact mode, so that
+   * consumers registered with {@link Response#onReply(java.util.function.Consumer)} get them as soon as they are read.
+   * The first exception thrown by a consumer is rethrown once all the replies have been read, which
+   * keeps the connection usable.
+   */
+  private void drain(int count) {
+    client.flush();
+    if (compact) {
+      compactResults.ensureCapacity(compactResults.size() + count);
+    }
+    RuntimeException consumerFailure = null;
+    for (int i = 0; i < count; i++) {
+      Object data;
+      try {
+        data = client.readProtocolWithCheckingBroken(isNextStringReply());
+      } catch (JedisDataException e) {
+        data = e;
+      }
+      try {
+        if (compact) {
+          compactResults.add(generateResult(data));
+        } else {
+          generateResponse(data);
+        }
+      } catch (RuntimeException e) {
+        if (consumerFailure == null) {
+          consumerFailure = e;
+        }
+      }
+    }
+    if (consumerFailure != null) {
+      throw consumerFailure;
+    }
   }
 
   public void setClient(Client client) {
@@ -94,12 +266,15 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
    * commands you execute.
    */
   public void sync() {
+    if (duplexReader != null) {
+      final DuplexReader reader = duplexReader;
+      duplexReader = null;
+      reader.finish();
+    }
     if (getPipelinedResponseLength() > 0) {
-      List<Object> unformatted = client.getMany(getPipelinedResponseLength());
-      for (Object o : unformatted) {
-        generateResponse(o);
-      }
+      drain(getPipelinedResponseLength());
     }
+    compactResults.clear();
   }
 
   /**
@@ -109,6 +284,15 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
    * @return A list of all the responses in the order you executed them.
    */
   public List<Object> syncAndReturnAll() {
+    if (fullDuplex) {
+      throw new IllegalStateException("syncAndReturnAll is not supported in full duplex mode.");
+    }
+    if (compact) {
+      drain(getPipelinedResponseLength());
+      final List<Object> results = compactResults;
+      compactResults = new ArrayList<>();
+      return results;
+    }
     if (getPipelinedResponseLength() > 0) {
       List<Object> unformatted = client.getMany(getPipelinedResponseLength());
       List<Object> formatted = new ArrayList<>();
@@ -136,7 +320,7 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
     if (currentMulti == null) throw new IllegalStateException("EXEC without MULTI");
 
     client.exec();
-    Response<List<Object>> response = super.getResponse(currentMulti);
+    Response<List<Object>> response = enqueue(currentMulti);
     currentMulti.setResponseDependency(response);
     currentMulti = null;
     return response;
@@ -144,6 +328,7 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
 
   public Response<String> multi() {
     if (currentMulti != null) throw new IllegalStateException("MULTI calls can not be nested");
+    if (compact) throw new IllegalStateException("MULTI is not supported in compact mode.");
 
     client.multi();
     Response<String> response = getResponse(BuilderFactory.STRING); // Expecting OK
@@ -166,4 +351,132 @@ public class Pipeline extends MultiKeyPipelineBase implements Closeable {
     return getResponse(BuilderFactory.STRING);
   }
 
+  /**
+   * Reads replies on a thread of {@link #DUPLEX_READERS}, in the order the responses are added,
+   * until {@link #finish()}.
+   */
+  private final class DuplexReader implements Runnable {
+
+    /**
+     * Permits for the commands whose reply has not been read, null if there is no bound.
+     */
+    private final Semaphore inFlight;
+    private final int batchSize;
+
+    /**
+     * Responses of the commands written since the last flush, only used by the writing thread.
+     */
+    private List<Response<?>> unflushed = new ArrayList<>();
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    /**
+     * Number of tasks queued or running; a reader is started when it leaves 0.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile JedisConnectionException connectionFailure;
+    private RuntimeException consumerFailure;
+
+    DuplexReader(int maxInFlight) {
+      inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+      batchSize = maxInFlight > 0 ? Math.max(1, Math.min(DUPLEX_BATCH_SIZE, maxInFlight / 2))
+          : DUPLEX_BATCH_SIZE;
+    }
+
+    void add(Response<?> response) {
+      if (connectionFailure != null) {
+        throw connectionFailure;
+      }
+      // the new response is handed over with the next batch, after the caller got it back
+      if (unflushed.size() >= batchSize) {
+        handOver();
+      }
+      if (inFlight != null && !inFlight.tryAcquire()) {
+        handOver();
+        try {
+          inFlight.acquire();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new JedisException(e);
+        }
+      }
+      unflushed.add(response);
+    }
+
+    /**
+     * Waits until all the replies are read.
+     */
+    void finish() {
+      handOver();
+      final CountDownLatch finished = new CountDownLatch(1);
+      submit(finished::countDown);
+      try {
+        finished.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new JedisException(e);
+      }
+      if (connectionFailure != null) {
+        throw connectionFailure;
+      }
+      if (consumerFailure != null) {
+        throw consumerFailure;
+      }
+    }
+
+    /**
+     * Flushes the commands written so far and has their replies read.
+     */
+    private void handOver() {
+      client.flush();
+      if (!unflushed.isEmpty()) {
+        final List<Response<?>> batch = unflushed;
+        unflushed = new ArrayList<>();
+        submit(() -> {
+          for (Response<?> response : batch) {
+            if (connectionFailure == null) {
+              read(response);
+            }
+            if (inFlight != null) {
+              inFlight.release();
+            }
+          }
+        });
+      }
+    }
+
+    private void submit(Runnable task) {
+      tasks.add(task);
+      if (pending.getAndIncrement() == 0) {
+        DUPLEX_READERS.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        tasks.poll().run();
+      } while (pending.decrementAndGet() > 0);
+    }
+
+    private void read(Response<?> response) {
+      Object data;
+      try {
+        data = client.readProtocolWithCheckingBroken(response.isStringReply());
+      } catch (JedisDataException e) {
+        data = e;
+      } catch (JedisConnectionException e) {
+        // later responses are still released, so that the writer never blocks
+        connectionFailure = e;
+        return;
+      }
+      try {
+        response.set(data);
+      } catch (RuntimeException e) {
+        if (consumerFailure == null) {
+          consumerFailure = e;
+        }
+      }
+    }
+  }
 }
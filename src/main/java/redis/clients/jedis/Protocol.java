@@ -1,11 +1,18 @@
 package redis.clients.jedis;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.args.StreamedValue;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.exceptions.*;
 import redis.clients.jedis.util.RedisInputStream;
@@ -27,6 +34,7 @@ public final class Protocol {
   public static final int DEFAULT_SENTINEL_PORT = 26379;
   public static final int DEFAULT_TIMEOUT = 2000;
   public static final int DEFAULT_DATABASE = 0;
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
 
   public static final String CHARSET = "UTF-8";
 
@@ -35,6 +43,16 @@ public final class Protocol {
   public static final byte PLUS_BYTE = '+';
   public static final byte MINUS_BYTE = '-';
   public static final byte COLON_BYTE = ':';
+  public static final byte PERCENT_BYTE = '%';
+  public static final byte COMMA_BYTE = ',';
+  public static final byte TILDE_BYTE = '~';
+  public static final byte HASH_BYTE = '#';
+  public static final byte UNDERSCORE_BYTE = '_';
+  public static final byte GREATER_THAN_BYTE = '>';
+  public static final byte PIPE_BYTE = '|';
+  public static final byte LEFT_PARENTHESIS_BYTE = '(';
+  public static final byte EQUAL_BYTE = '=';
+  public static final byte EXCLAMATION_BYTE = '!';
 
   public static final String SENTINEL_MASTERS = "masters";
   public static final String SENTINEL_GET_MASTER_ADDR_BY_NAME = "get-master-addr-by-name";
@@ -79,29 +97,73 @@ public final class Protocol {
   public static final byte[] POSITIVE_INFINITY_BYTES = "+inf".getBytes();
   public static final byte[] NEGATIVE_INFINITY_BYTES = "-inf".getBytes();
 
+  /**
+   * Commands with up to this many arguments have their header pre-encoded.
+   */
+  private static final int MAX_CACHED_HEADER_ARGS = 7;
+
+  /**
+   * The most frequent status replies are read into these shared arrays instead of a new array per
+   * reply by {@link #readDecodingStatus(RedisInputStream)}, which decodes them to constants right
+   * away, so that the arrays never reach a caller who could modify them.
+   */
+  private static final String[] SHARED_STATUS_STRINGS = { "OK", "QUEUED", "PONG" };
+  private static final byte[][] SHARED_STATUS_REPLIES = SafeEncoder
+      .encodeMany(SHARED_STATUS_STRINGS);
+  private static final byte[][] NO_SHARED_STATUS_REPLIES = new byte[0][];
+
   private Protocol() {
     // this prevent the class from instantiation
   }
 
   public static void sendCommand(final RedisOutputStream os, final ProtocolCommand command,
       final byte[]... args) {
-    sendCommand(os, command.getRaw(), args);
+    try {
+      sendCommand(os, command, args.length, args);
+    } catch (IOException e) {
+      throw new JedisConnectionException(e);
+    }
   }
 
-  private static void sendCommand(final RedisOutputStream os, final byte[] command,
-      final byte[]... args) {
-    try {
+  private static void sendCommand(final RedisOutputStream os, final ProtocolCommand command,
+      final int argCount, final byte[][] args) throws IOException {
+    final byte[] header = command instanceof Command ? ((Command) command).header(argCount) : null;
+    if (header != null) {
+      os.write(header);
+    } else {
+      final byte[] raw = command.getRaw();
       os.write(ASTERISK_BYTE);
-      os.writeIntCrLf(args.length + 1);
+      os.writeIntCrLf(argCount + 1);
       os.write(DOLLAR_BYTE);
-      os.writeIntCrLf(command.length);
-      os.write(command);
+      os.writeIntCrLf(raw.length);
+      os.write(raw);
       os.writeCrLf();
+    }
+
+    for (final byte[] arg : args) {
+      os.write(DOLLAR_BYTE);
+      os.writeIntCrLf(arg.length);
+      os.write(arg);
+      os.writeCrLf();
+    }
+  }
+
+  /**
+   * Sends a command whose last arguments are streamed to the connection.
+   * @param os
+   * @param command
+   * @param args the leading arguments
+   * @param values the trailing arguments, written in order after <code>args</code>
+   */
+  public static void sendCommand(final RedisOutputStream os, final ProtocolCommand command,
+      final byte[][] args, final StreamedValue... values) {
+    try {
+      sendCommand(os, command, args.length + values.length, args);
 
-      for (final byte[] arg : args) {
+      for (final StreamedValue value : values) {
         os.write(DOLLAR_BYTE);
-        os.writeIntCrLf(arg.length);
-        os.write(arg);
+        os.writeIntCrLf(value.length());
+        value.writeTo(os);
         os.writeCrLf();
       }
     } catch (IOException e) {
@@ -110,29 +172,36 @@ public final class Protocol {
   }
 
   private static void processError(final RedisInputStream is) {
-    String message = is.readLine();
+    processError(is.readLine());
+  }
+
+  private static void processError(final String message) {
+    throw buildError(message);
+  }
+
+  private static JedisDataException buildError(final String message) {
     // TODO: I'm not sure if this is the best way to do this.
     // Maybe Read only first 5 bytes instead?
     if (message.startsWith(MOVED_PREFIX)) {
       String[] movedInfo = parseTargetHostAndSlot(message);
-      throw new JedisMovedDataException(message, new HostAndPort(movedInfo[1],
+      return new JedisMovedDataException(message, new HostAndPort(movedInfo[1],
           Integer.parseInt(movedInfo[2])), Integer.parseInt(movedInfo[0]));
     } else if (message.startsWith(ASK_PREFIX)) {
       String[] askInfo = parseTargetHostAndSlot(message);
-      throw new JedisAskDataException(message, new HostAndPort(askInfo[1],
+      return new JedisAskDataException(message, new HostAndPort(askInfo[1],
           Integer.parseInt(askInfo[2])), Integer.parseInt(askInfo[0]));
     } else if (message.startsWith(CLUSTERDOWN_PREFIX)) {
-      throw new JedisClusterException(message);
+      return new JedisClusterException(message);
     } else if (message.startsWith(BUSY_PREFIX)) {
-      throw new JedisBusyException(message);
+      return new JedisBusyException(message);
     } else if (message.startsWith(NOSCRIPT_PREFIX)) {
-      throw new JedisNoScriptException(message);
+      return new JedisNoScriptException(message);
     } else if (message.startsWith(WRONGPASS_PREFIX)) {
-      throw new JedisAccessControlException(message);
+      return new JedisAccessControlException(message);
     } else if (message.startsWith(NOPERM_PREFIX)) {
-      throw new JedisAccessControlException(message);
+      return new JedisAccessControlException(message);
     }
-    throw new JedisDataException(message);
+    return new JedisDataException(message);
   }
 
   public static String readErrorLineIfPossible(RedisInputStream is) {
@@ -155,10 +224,17 @@ public final class Protocol {
   }
 
   private static Object process(final RedisInputStream is) {
+    return process(is, NO_SHARED_STATUS_REPLIES);
+  }
+
+  /**
+   * @param sharedStatus status replies returned as these arrays rather than a new one
+   */
+  private static Object process(final RedisInputStream is, final byte[][] sharedStatus) {
     final byte b = is.readByte();
     switch (b) {
     case PLUS_BYTE:
-      return processStatusCodeReply(is);
+      return is.readLineBytes(sharedStatus);
     case DOLLAR_BYTE:
       return processBulkReply(is);
     case ASTERISK_BYTE:
@@ -168,13 +244,46 @@ public final class Protocol {
     case MINUS_BYTE:
       processError(is);
       return null;
+    // RESP3 types, only sent after HELLO 3
+    case PERCENT_BYTE:
+      return processMapReply(is);
+    case TILDE_BYTE:
+    case GREATER_THAN_BYTE:
+      return processMultiBulkReply(is);
+    case COMMA_BYTE:
+      return processDouble(is);
+    case HASH_BYTE:
+      return processBoolean(is);
+    case UNDERSCORE_BYTE:
+      readCrLf(is);
+      return null;
+    case LEFT_PARENTHESIS_BYTE:
+      return is.readLineBytes();
+    case EQUAL_BYTE:
+      return processVerbatimReply(is);
+    case EXCLAMATION_BYTE:
+      processError(SafeEncoder.encode(processBulkReply(is)));
+      return null;
+    case PIPE_BYTE:
+      // attributes are out-of-band metadata about the reply that follows
+      processMapReply(is);
+      return process(is);
     default:
       throw new JedisConnectionException("Unknown reply: " + (char) b);
     }
   }
 
-  private static byte[] processStatusCodeReply(final RedisInputStream is) {
-    return is.readLineBytes();
+  /**
+   * @return the constant of <code>reply</code> if it is a shared status reply, else
+   * <code>reply</code>
+   */
+  private static Object decodeSharedStatus(final Object reply) {
+    for (int i = 0; i < SHARED_STATUS_REPLIES.length; i++) {
+      if (reply == SHARED_STATUS_REPLIES[i]) {
+        return SHARED_STATUS_STRINGS[i];
+      }
+    }
+    return reply;
   }
 
   private static byte[] processBulkReply(final RedisInputStream is) {
@@ -182,7 +291,10 @@ public final class Protocol {
     if (len == -1) {
       return null;
     }
+    return readBulkPayload(is, len);
+  }
 
+  private static byte[] readBulkPayload(final RedisInputStream is, final int len) {
     final byte[] read = new byte[len];
     int offset = 0;
     while (offset < len) {
@@ -219,10 +331,319 @@ public final class Protocol {
     return ret;
   }
 
+  /**
+   * A RESP3 map is returned as a list of entries, so that it can neither be mistaken for a RESP2
+   * array nor lose keys that are byte[].
+   */
+  private static List<Map.Entry<Object, Object>> processMapReply(final RedisInputStream is) {
+    final int num = is.readIntCrLf();
+    if (num == -1) {
+      return null;
+    }
+    final List<Map.Entry<Object, Object>> ret = new ArrayList<>(num);
+    for (int i = 0; i < num; i++) {
+      Object key = process(is);
+      Object value;
+      try {
+        value = process(is);
+      } catch (JedisDataException e) {
+        value = e;
+      }
+      ret.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+    }
+    return ret;
+  }
+
+  private static Double processDouble(final RedisInputStream is) {
+    final String value = is.readLine();
+    switch (value) {
+    case "inf":
+      return Double.POSITIVE_INFINITY;
+    case "-inf":
+      return Double.NEGATIVE_INFINITY;
+    case "nan":
+      return Double.NaN;
+    default:
+      return Double.valueOf(value);
+    }
+  }
+
+  private static Boolean processBoolean(final RedisInputStream is) {
+    final byte b = is.readByte();
+    readCrLf(is);
+    return b == 't';
+  }
+
+  private static byte[] processVerbatimReply(final RedisInputStream is) {
+    final byte[] reply = processBulkReply(is);
+    // strip the three letter format and the colon, e.g. "txt:"
+    return reply == null || reply.length < 4 ? reply : Arrays.copyOfRange(reply, 4, reply.length);
+  }
+
   public static Object read(final RedisInputStream is) {
     return process(is);
   }
 
+  /**
+   * Reads a reply like {@link #read(RedisInputStream)}, except that common status replies like
+   * <code>OK</code> are returned as String constants, without allocating anything. Only for
+   * replies that are decoded to a String anyway, e.g. by {@link BuilderFactory#STRING}.
+   */
+  public static Object readDecodingStatus(final RedisInputStream is) {
+    return decodeSharedStatus(process(is, SHARED_STATUS_REPLIES));
+  }
+
+  /**
+   * Reads a status reply and decodes it. Common status replies like <code>OK</code> are decoded to
+   * constants without allocating anything.
+   */
+  public static String readStatusCodeReply(final RedisInputStream is) {
+    final Object reply = readDecodingStatus(is);
+    return reply == null || reply instanceof String ? (String) reply
+        : SafeEncoder.encode((byte[]) reply);
+  }
+
+  /**
+   * Reads a reply and reports it to <code>handler</code> as it is parsed. Bulk strings that fit
+   * into the read buffer are passed in place, without being copied to a byte[] first.
+   * <p>
+   * An error reply throws like {@link #read(RedisInputStream)} does; errors nested inside an
+   * aggregate reply are passed to {@link ReplyHandler#onError(JedisDataException)}. If the handler
+   * throws, the rest of the reply is still read before the exception is rethrown, so that the
+   * connection stays usable.
+   * @return the result of the handler
+   */
+  public static <T> T read(final RedisInputStream is, final ReplyHandler<T> handler) {
+    process(is, handler, false);
+    return handler.getResult();
+  }
+
+  private static void process(final RedisInputStream is, final ReplyHandler<?> handler,
+      final boolean nested) {
+    final byte b = is.readByte();
+    switch (b) {
+    case PLUS_BYTE:
+    case LEFT_PARENTHESIS_BYTE: {
+      final byte[] line = is.readLineBytes(SHARED_STATUS_REPLIES);
+      handler.onStatus(line, 0, line.length);
+      break;
+    }
+    case DOLLAR_BYTE:
+      processBulkReply(is, handler, 0);
+      break;
+    case EQUAL_BYTE:
+      // strip the three letter format and the colon, e.g. "txt:"
+      processBulkReply(is, handler, 4);
+      break;
+    case ASTERISK_BYTE:
+    case TILDE_BYTE:
+    case GREATER_THAN_BYTE:
+      processAggregateReply(is, handler, false);
+      break;
+    case PERCENT_BYTE:
+      processAggregateReply(is, handler, true);
+      break;
+    case COLON_BYTE:
+      handler.onInteger(is.readLongCrLf());
+      break;
+    case COMMA_BYTE:
+      handler.onDouble(processDouble(is));
+      break;
+    case HASH_BYTE:
+      handler.onBoolean(processBoolean(is));
+      break;
+    case UNDERSCORE_BYTE:
+      readCrLf(is);
+      handler.onNull();
+      break;
+    case MINUS_BYTE:
+      processError(is.readLine(), handler, nested);
+      break;
+    case EXCLAMATION_BYTE:
+      processError(SafeEncoder.encode(processBulkReply(is)), handler, nested);
+      break;
+    case PIPE_BYTE:
+      processMapReply(is);
+      process(is, handler, nested);
+      break;
+    default:
+      throw new JedisConnectionException("Unknown reply: " + (char) b);
+    }
+  }
+
+  private static void processError(final String message, final ReplyHandler<?> handler,
+      final boolean nested) {
+    if (!nested) {
+      processError(message);
+    }
+    handler.onError(buildError(message));
+  }
+
+  private static void processBulkReply(final RedisInputStream is, final ReplyHandler<?> handler,
+      final int skip) {
+    final int len = is.readIntCrLf();
+    if (len == -1) {
+      handler.onNull();
+      return;
+    }
+
+    final int from = Math.min(skip, len);
+    final int offset = is.consumeInPlace(len + 2);
+    if (offset != -1) {
+      handler.onBulk(is.getBuffer(), offset + from, len - from);
+      return;
+    }
+
+    // larger than the read buffer
+    final byte[] read = readBulkPayload(is, len);
+    handler.onBulk(read, from, len - from);
+  }
+
+  private static void processAggregateReply(final RedisInputStream is,
+      final ReplyHandler<?> handler, final boolean map) {
+    final int num = is.readIntCrLf();
+    if (num == -1) {
+      handler.onNull();
+      return;
+    }
+
+    final int elements = map ? num * 2 : num;
+    int started = 0;
+    try {
+      if (map) {
+        handler.onMapStart(num);
+      } else {
+        handler.onArrayStart(num);
+      }
+      while (started < elements) {
+        started++;
+        process(is, handler, true);
+      }
+      if (map) {
+        handler.onMapEnd();
+      } else {
+        handler.onArrayEnd();
+      }
+    } catch (JedisConnectionException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      // the element that failed has been read completely, only skip the ones after it
+      for (int i = started; i < elements; i++) {
+        try {
+          process(is);
+        } catch (JedisDataException ignored) {
+          // nested error reply, already consumed
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Reads a bulk reply and copies its payload to <code>out</code> as it arrives, without
+   * materializing it as a byte[].
+   * @return the length of the payload, or -1 if the reply is nil
+   */
+  public static long readBulkReply(final RedisInputStream is, final OutputStream out) {
+    final int len = readBulkReplyLength(is);
+    if (len == -1) {
+      return -1;
+    }
+
+    try {
+      is.copyTo(out, len);
+    } catch (IOException e) {
+      throw new JedisConnectionException("Failed to copy the bulk reply to the output stream.", e);
+    }
+    readCrLf(is);
+    return len;
+  }
+
+  /**
+   * Reads a bulk reply and copies its payload to <code>out</code> as it arrives, without
+   * materializing it as a byte[].
+   * @return the length of the payload, or -1 if the reply is nil
+   */
+  public static long readBulkReply(final RedisInputStream is, final WritableByteChannel out) {
+    final int len = readBulkReplyLength(is);
+    if (len == -1) {
+      return -1;
+    }
+
+    try {
+      is.copyTo(out, len);
+    } catch (IOException e) {
+      throw new JedisConnectionException("Failed to copy the bulk reply to the channel.", e);
+    }
+    readCrLf(is);
+    return len;
+  }
+
+  /**
+   * Reads a bulk reply and copies its payload into <code>dst</code>. If the payload does not fit
+   * into the remaining space of <code>dst</code>, it is skipped and a {@link JedisDataException} is
+   * thrown, leaving both the buffer and the connection usable.
+   * @return the length of the payload, or -1 if the reply is nil
+   */
+  public static long readBulkReply(final RedisInputStream is, final ByteBuffer dst) {
+    final int len = readBulkReplyLength(is);
+    if (len == -1) {
+      return -1;
+    }
+
+    if (len > dst.remaining()) {
+      is.skipBytes(len);
+      readCrLf(is);
+      throw new JedisDataException("Bulk reply of " + len + " bytes does not fit into the "
+          + dst.remaining() + " bytes remaining in the buffer.");
+    }
+    is.copyTo(dst, len);
+    readCrLf(is);
+    return len;
+  }
+
+  /**
+   * Reads the header of a bulk reply, or of its RESP3 counterparts: null, verbatim string, whose
+   * format prefix is skipped, and blob error.
+   * @return the length of the payload left to read, or -1 if the reply is nil
+   */
+  private static int readBulkReplyLength(final RedisInputStream is) {
+    final byte b = is.readByte();
+    switch (b) {
+    case DOLLAR_BYTE:
+      return is.readIntCrLf();
+    case UNDERSCORE_BYTE:
+      readCrLf(is);
+      return -1;
+    case EQUAL_BYTE:
+      final int len = is.readIntCrLf();
+      if (len < 4) {
+        return len;
+      }
+      // the three letter format and the colon, e.g. "txt:"
+      is.skipBytes(4);
+      return len - 4;
+    case MINUS_BYTE:
+      processError(is);
+      return -1;
+    case EXCLAMATION_BYTE:
+      processError(SafeEncoder.encode(processBulkReply(is)));
+      return -1;
+    case PIPE_BYTE:
+      // attributes are out-of-band metadata about the reply that follows
+      processMapReply(is);
+      return readBulkReplyLength(is);
+    default:
+      throw new JedisConnectionException("Expected a bulk reply but got: " + (char) b);
+    }
+  }
+
+  private static void readCrLf(final RedisInputStream is) {
+    // read 2 more bytes for the command delimiter
+    is.readByte();
+    is.readByte();
+  }
+
   public static final byte[] toByteArray(final boolean value) {
     return value ? BYTES_TRUE : BYTES_FALSE;
   }
@@ -264,18 +685,54 @@ public final class Protocol {
     READONLY, GEOADD, GEODIST, GEOHASH, GEOPOS, GEORADIUS, GEORADIUS_RO, GEORADIUSBYMEMBER,
     GEORADIUSBYMEMBER_RO, MODULE, BITFIELD, HSTRLEN, TOUCH, SWAPDB, MEMORY, XADD, XLEN, XDEL,
     XTRIM, XRANGE, XREVRANGE, XREAD, XACK, XGROUP, XREADGROUP, XPENDING, XCLAIM, XAUTOCLAIM, ACL, XINFO,
-    BITFIELD_RO, LPOS, SMISMEMBER, ZMSCORE, BZPOPMIN, BZPOPMAX, BLMOVE, LMOVE, COPY;
+    BITFIELD_RO, LPOS, SMISMEMBER, ZMSCORE, BZPOPMIN, BZPOPMAX, BLMOVE, LMOVE, COPY, HELLO;
 
     private final byte[] raw;
+    private final byte[][] headers;
 
     Command() {
       raw = SafeEncoder.encode(this.name());
+      headers = new byte[MAX_CACHED_HEADER_ARGS + 1][];
+      for (int argCount = 0; argCount < headers.length; argCount++) {
+        headers[argCount] = encodeHeader(raw, argCount);
+      }
     }
 
     @Override
     public byte[] getRaw() {
       return raw;
     }
+
+    /**
+     * @return the array length and the bulk encoded command name, i.e.
+     * <code>*&lt;argCount + 1&gt;\r\n$&lt;length&gt;\r\nNAME\r\n</code>, or null if
+     * <code>argCount</code> is too large to be cached
+     */
+    byte[] header(final int argCount) {
+      return argCount < headers.length ? headers[argCount] : null;
+    }
+
+    private static byte[] encodeHeader(final byte[] raw, final int argCount) {
+      final byte[] arity = SafeEncoder.encode(String.valueOf(argCount + 1));
+      final byte[] length = SafeEncoder.encode(String.valueOf(raw.length));
+      final byte[] header = new byte[1 + arity.length + 2 + 1 + length.length + 2 + raw.length + 2];
+      int pos = 0;
+      header[pos++] = ASTERISK_BYTE;
+      System.arraycopy(arity, 0, header, pos, arity.length);
+      pos += arity.length;
+      header[pos++] = '\r';
+      header[pos++] = '\n';
+      header[pos++] = DOLLAR_BYTE;
+      System.arraycopy(length, 0, header, pos, length.length);
+      pos += length.length;
+      header[pos++] = '\r';
+      header[pos++] = '\n';
+      System.arraycopy(raw, 0, header, pos, raw.length);
+      pos += raw.length;
+      header[pos++] = '\r';
+      header[pos] = '\n';
+      return header;
+    }
   }
 
   public static enum Keyword implements Rawable {
@@ -286,7 +743,7 @@ public final class Protocol {
     BLOCK, NOACK, STREAMS, KEY, CREATE, MKSTREAM, SETID, DESTROY, DELCONSUMER, MAXLEN, GROUP, ID,
     IDLE, TIME, RETRYCOUNT, FORCE, USAGE, SAMPLES, STREAM, GROUPS, CONSUMERS, HELP, FREQ, SETUSER,
     GETUSER, DELUSER, WHOAMI, CAT, GENPASS, USERS, LOG, INCR, SAVE, JUSTID, WITHVALUES, UNBLOCK,
-    NOMKSTREAM, MINID, DB, ABSTTL;
+    NOMKSTREAM, MINID, DB, ABSTTL, TRACKING, ON, REDIRECT;
 
     private final byte[] raw;
 
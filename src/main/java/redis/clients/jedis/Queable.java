@@ -1,13 +1,22 @@
 package redis.clients.jedis;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 
+import redis.clients.jedis.exceptions.JedisDataException;
+
 public class Queable {
-  private Queue<Response<?>> pipelinedResponses = new LinkedList<>();
+  // array backed, a linked list would add a node per pipelined command
+  private Queue<Response<?>> pipelinedResponses = new ArrayDeque<>();
+  /**
+   * Builders of the replies of the commands queued without a {@link Response}, a reference per
+   * command.
+   */
+  private Queue<Builder<?>> pipelinedBuilders = new ArrayDeque<>();
 
   protected void clean() {
     pipelinedResponses.clear();
+    pipelinedBuilders.clear();
   }
 
   protected Response<?> generateResponse(Object data) {
@@ -24,11 +33,42 @@ public class Queable {
     return lr;
   }
 
+  /**
+   * Queues a command whose result is built by {@link #generateResult(Object)}, without a
+   * {@link Response}.
+   */
+  protected void enqueueBuilder(Builder<?> builder) {
+    pipelinedBuilders.add(builder);
+  }
+
+  /**
+   * @return the reply of the oldest command queued by {@link #enqueueBuilder(Builder)}, built, or
+   * the error it replied
+   */
+  protected Object generateResult(Object data) {
+    final Builder<?> builder = pipelinedBuilders.poll();
+    if (data == null || data instanceof JedisDataException) {
+      return data;
+    }
+    return builder.build(data);
+  }
+
+  /**
+   * @return whether the reply of the next response is decoded to a String
+   */
+  protected boolean isNextStringReply() {
+    final Response<?> response = pipelinedResponses.peek();
+    if (response != null) {
+      return response.isStringReply();
+    }
+    return pipelinedBuilders.peek() == BuilderFactory.STRING;
+  }
+
   protected boolean hasPipelinedResponse() {
-    return !pipelinedResponses.isEmpty();
+    return !pipelinedResponses.isEmpty() || !pipelinedBuilders.isEmpty();
   }
 
   protected int getPipelinedResponseLength() {
-    return pipelinedResponses.size();
+    return pipelinedResponses.size() + pipelinedBuilders.size();
   }
 }
@@ -0,0 +1,24 @@
+package redis.clients.jedis;
+
+/**
+ * Nodes a {@link JedisCluster} reads from. Replicas are sent READONLY and may return data that is
+ * slightly behind their master. Writes always go to the master.
+ */
+public enum ReadFrom {
+  /**
+   * The master of the slot, the default.
+   */
+  MASTER,
+  /**
+   * A replica of the slot chosen at random, the master if the slot has no replica.
+   */
+  REPLICA_PREFERRED,
+  /**
+   * The replicas of the slot in turn, the master if the slot has no replica.
+   */
+  ROUND_ROBIN,
+  /**
+   * The node of the slot, master or replica, whose recent reads were the fastest.
+   */
+  LOWEST_LATENCY
+}
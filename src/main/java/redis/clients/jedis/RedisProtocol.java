@@ -0,0 +1,17 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Protocol version negotiated with HELLO. RESP3 adds native map, set, double, boolean, null and push
+ * replies.
+ */
+public enum RedisProtocol {
+  RESP2("2"), RESP3("3");
+
+  public final byte[] raw;
+
+  RedisProtocol(String version) {
+    raw = SafeEncoder.encode(version);
+  }
+}
@@ -0,0 +1,75 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.RedisInputStream;
+
+/**
+ * Receives a reply as a sequence of events while it is parsed by
+ * {@link Protocol#read(RedisInputStream, ReplyHandler)}, so that the result can be built in one
+ * pass without first materializing the reply as nested lists and byte arrays.
+ * <p>
+ * The byte ranges passed to {@link #onBulk(byte[], int, int)} and
+ * {@link #onStatus(byte[], int, int)} usually point into the parser's read buffer. They are only
+ * valid for the duration of the call and must be copied if they are kept.
+ * <p>
+ * The default methods present RESP3 types the way RESP2 would send them: maps as flat arrays and
+ * doubles as bulk strings. A handler written for RESP2 replies thus also works after HELLO 3.
+ * @param <T> type of the result
+ */
+public interface ReplyHandler<T> {
+
+  /**
+   * Starts an array, a RESP3 set or a RESP3 push of <code>length</code> elements. Each element is
+   * reported before the matching {@link #onArrayEnd()}.
+   */
+  void onArrayStart(int length);
+
+  void onArrayEnd();
+
+  /**
+   * Starts a RESP3 map of <code>entries</code> entries, reported as alternating keys and values.
+   */
+  default void onMapStart(int entries) {
+    onArrayStart(entries * 2);
+  }
+
+  default void onMapEnd() {
+    onArrayEnd();
+  }
+
+  void onBulk(byte[] buf, int offset, int length);
+
+  default void onStatus(byte[] buf, int offset, int length) {
+    onBulk(buf, offset, length);
+  }
+
+  default void onInteger(long value) {
+    final byte[] bytes = Protocol.toByteArray(value);
+    onBulk(bytes, 0, bytes.length);
+  }
+
+  default void onDouble(double value) {
+    final byte[] bytes = Protocol.toByteArray(value);
+    onBulk(bytes, 0, bytes.length);
+  }
+
+  default void onBoolean(boolean value) {
+    onInteger(value ? 1 : 0);
+  }
+
+  /**
+   * Nil bulk string, nil array or RESP3 null.
+   */
+  void onNull();
+
+  /**
+   * An error element inside an aggregate reply. A top level error reply is thrown by the parser
+   * instead. By default the error is thrown as well: the parser then skips the rest of the reply
+   * without passing it to the handler and rethrows the error, and the connection stays usable.
+   */
+  default void onError(JedisDataException error) {
+    throw error;
+  }
+
+  T getResult();
+}
@@ -1,10 +1,17 @@
 package redis.clients.jedis;
 
+import java.util.function.Consumer;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisDataException;
 
 public class Response<T> {
   protected T response = null;
   protected JedisDataException exception = null;
+  /**
+   * Set instead of a reply when the connection failed before the reply could be read.
+   */
+  private JedisConnectionException failure = null;
 
   private boolean building = false;
   private boolean built = false;
@@ -14,6 +21,9 @@ public class Response<T> {
   private Object data;
   private Response<?> dependency = null;
 
+  private Consumer<? super T> consumer;
+  private Consumer<? super JedisDataException> errorConsumer;
+
   public Response(Builder<T> b) {
     this.builder = b;
   }
@@ -21,6 +31,51 @@ public class Response<T> {
   public void set(Object data) {
     this.data = data;
     set = true;
+    if (consumer != null) {
+      deliver();
+    }
+  }
+
+  /**
+   * Hands the result to <code>consumer</code> as soon as the reply is read, instead of waiting for
+   * {@link #get()}. Results can thus be processed while a long pipeline is still running, see
+   * {@link Pipeline#setMaxInFlight(int)}, and the response does not need to be kept. Error replies
+   * are not passed to <code>consumer</code> and are only thrown by {@link #get()}.
+   * <p>
+   * Inside a transaction the result is known once the EXEC reply is built, so the consumer is called
+   * then. No consumer is called if the connection failed before the reply was read.
+   * @return this response
+   */
+  public Response<T> onReply(Consumer<? super T> consumer) {
+    return onReply(consumer, null);
+  }
+
+  /**
+   * Like {@link #onReply(Consumer)}, but error replies are passed to <code>errorConsumer</code>.
+   * @return this response
+   */
+  public Response<T> onReply(Consumer<? super T> consumer,
+      Consumer<? super JedisDataException> errorConsumer) {
+    this.consumer = consumer;
+    this.errorConsumer = errorConsumer;
+    if (set) {
+      deliver();
+    }
+    return this;
+  }
+
+  private void deliver() {
+    if (!built) {
+      build();
+    }
+    if (failure != null) {
+      return;
+    }
+    if (exception == null) {
+      consumer.accept(response);
+    } else if (errorConsumer != null) {
+      errorConsumer.accept(exception);
+    }
   }
 
   public T get() {
@@ -35,12 +90,22 @@ public class Response<T> {
     if (!built) {
       build();
     }
+    if (failure != null) {
+      throw failure;
+    }
     if (exception != null) {
       throw exception;
     }
     return response;
   }
 
+  /**
+   * @return whether the reply is decoded to a String, so that it may be read as one right away
+   */
+  boolean isStringReply() {
+    return builder == BuilderFactory.STRING;
+  }
+
   public void setDependency(Response<?> dependency) {
     this.dependency = dependency;
   }
@@ -56,6 +121,8 @@ public class Response<T> {
       if (data != null) {
         if (data instanceof JedisDataException) {
           exception = (JedisDataException) data;
+        } else if (data instanceof JedisConnectionException) {
+          failure = (JedisConnectionException) data;
         } else {
           response = builder.build(data);
         }
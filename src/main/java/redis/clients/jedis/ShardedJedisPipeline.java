@@ -0,0 +1,146 @@
+package redis.clients.jedis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Pipeline over the shards of a {@link ShardedJedis}: each command is written to the connection of
+ * the shard of its key. On {@link #sync()} every shard is flushed before any reply is read, so that
+ * the shards work on their share at the same time, and the replies are read in call order.
+ */
+public class ShardedJedisPipeline extends PipelineBase {
+
+  private BinaryShardedJedis jedis;
+
+  /**
+   * Connection of each pipelined command, in call order.
+   */
+  private final List<Client> clients = new ArrayList<>();
+
+  public void setShardedJedis(BinaryShardedJedis jedis) {
+    this.jedis = jedis;
+  }
+
+  @Override
+  protected Client getClient(String key) {
+    Client client = jedis.getShard(key).getClient();
+    clients.add(client);
+    return client;
+  }
+
+  @Override
+  protected Client getClient(byte[] key) {
+    Client client = jedis.getShard(key).getClient();
+    clients.add(client);
+    return client;
+  }
+
+  /**
+   * Synchronize pipeline by reading all responses. In order to get return values from pipelined
+   * commands, capture the different Response&lt;?&gt; of the commands you execute.
+   * <p>
+   * If the connection of a shard fails, the responses of its commands throw the failure and the
+   * replies of the other shards are still read; sync() then throws the first failure.
+   */
+  public void sync() {
+    final Map<Client, JedisConnectionException> broken = flushShards();
+
+    RuntimeException failure = null;
+    for (Client client : clients) {
+      final Object data = read(client, broken);
+      if (failure == null && data instanceof JedisConnectionException) {
+        failure = (JedisConnectionException) data;
+      }
+      try {
+        generateResponse(data);
+      } catch (RuntimeException e) {
+        // thrown by a consumer, the other replies must still be read
+        if (failure == null) {
+          failure = e;
+        }
+      }
+    }
+    clients.clear();
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Synchronize pipeline by reading all responses.
+   * @return A list of all the responses in the order you executed them.
+   * @throws JedisConnectionException if the connection of a shard failed, once the replies of the
+   * other shards are read
+   */
+  public List<Object> syncAndReturnAll() {
+    if (clients.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final Map<Client, JedisConnectionException> broken = flushShards();
+
+    List<Object> formatted = new ArrayList<>(clients.size());
+    JedisConnectionException failure = null;
+    for (Client client : clients) {
+      final Object data = read(client, broken);
+      if (failure == null && data instanceof JedisConnectionException) {
+        failure = (JedisConnectionException) data;
+      }
+      try {
+        formatted.add(generateResponse(data).get());
+      } catch (JedisDataException | JedisConnectionException e) {
+        formatted.add(e);
+      }
+    }
+    clients.clear();
+
+    if (failure != null) {
+      throw failure;
+    }
+    return formatted;
+  }
+
+  /**
+   * @return the failure of each shard whose connection failed
+   */
+  private Map<Client, JedisConnectionException> flushShards() {
+    Map<Client, JedisConnectionException> broken = new HashMap<>();
+    Set<Client> shards = new LinkedHashSet<>(clients);
+    for (Client client : shards) {
+      try {
+        client.flush();
+      } catch (JedisConnectionException e) {
+        broken.put(client, e);
+      }
+    }
+    return broken;
+  }
+
+  /**
+   * @return the next reply of <code>client</code>, or the failure of its connection, which is
+   * returned for every later command of the shard as well
+   */
+  private Object read(Client client, Map<Client, JedisConnectionException> broken) {
+    JedisConnectionException failure = broken.get(client);
+    if (failure != null) {
+      return failure;
+    }
+    try {
+      return client.readProtocolWithCheckingBroken();
+    } catch (JedisDataException e) {
+      return e;
+    } catch (JedisConnectionException e) {
+      broken.put(client, e);
+      return e;
+    }
+  }
+}
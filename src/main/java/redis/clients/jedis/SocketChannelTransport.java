@@ -0,0 +1,306 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transport over a {@link SocketChannel}. Reads and writes go through direct {@link ByteBuffer}s
+ * taken from a pool shared by all connections using this transport, so the JDK does not have to
+ * allocate a temporary native buffer for every socket operation.
+ * <p>
+ * The channel is switched to non-blocking mode and waited on with a {@link Selector}; this keeps
+ * the socket timeout ({@link Socket#setSoTimeout(int)}) effective for reads, which a blocking
+ * channel would ignore.
+ * <p>
+ * Sockets that are not backed by a channel, like SSL sockets layered on top of the channel socket
+ * or unix domain sockets created by a custom {@link JedisSocketFactory}, fall back to the plain
+ * socket streams.
+ */
+public class SocketChannelTransport implements JedisTransport {
+
+  public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+  public static final int DEFAULT_MAX_POOLED_BUFFERS = 64;
+
+  private final int bufferSize;
+  private final int maxPooledBuffers;
+  private final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pooled = new AtomicInteger();
+
+  public SocketChannelTransport() {
+    this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+  }
+
+  /**
+   * @param bufferSize size of each direct buffer
+   * @param maxPooledBuffers how many released buffers are kept for reuse
+   */
+  public SocketChannelTransport(int bufferSize, int maxPooledBuffers) {
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("Buffer size <= 0");
+    }
+    if (maxPooledBuffers < 0) {
+      throw new IllegalArgumentException("Max pooled buffers < 0");
+    }
+    this.bufferSize = bufferSize;
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  @Override
+  public Socket createSocket() throws IOException {
+    return SocketChannel.open().socket();
+  }
+
+  @Override
+  public InputStream getInputStream(Socket socket) throws IOException {
+    SocketChannel channel = socket.getChannel();
+    if (channel == null) {
+      return socket.getInputStream();
+    }
+    return new ChannelInputStream(socket, channel);
+  }
+
+  @Override
+  public OutputStream getOutputStream(Socket socket) throws IOException {
+    SocketChannel channel = socket.getChannel();
+    if (channel == null) {
+      return socket.getOutputStream();
+    }
+    return new ChannelOutputStream(socket, channel);
+  }
+
+  /**
+   * @return number of released buffers currently kept for reuse
+   */
+  public int getPooledBufferCount() {
+    return pooled.get();
+  }
+
+  ByteBuffer acquireBuffer() {
+    ByteBuffer buffer = pool.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(bufferSize);
+    }
+    pooled.decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  void releaseBuffer(ByteBuffer buffer) {
+    if (pooled.incrementAndGet() <= maxPooledBuffers) {
+      pool.offer(buffer);
+    } else {
+      pooled.decrementAndGet();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SocketChannelTransport{bufferSize=" + bufferSize + "}";
+  }
+
+  /**
+   * Each stream has its own selector so that a reader and a writer thread never fight over the
+   * interest set of a shared key. The buffer is only touched while holding the stream's monitor, so
+   * it is not handed back to the pool while a read or write is still using it.
+   */
+  private final class ChannelStream {
+
+    final Socket socket;
+    final SocketChannel channel;
+    final Selector selector;
+    ByteBuffer buffer;
+    volatile boolean closed;
+
+    ChannelStream(Socket socket, SocketChannel channel, int ops) throws IOException {
+      this.socket = socket;
+      this.channel = channel;
+      synchronized (channel.blockingLock()) {
+        if (channel.isBlocking()) {
+          channel.configureBlocking(false);
+        }
+      }
+      this.selector = Selector.open();
+      try {
+        channel.register(selector, ops);
+      } catch (IOException | RuntimeException ex) {
+        selector.close();
+        throw ex;
+      }
+      this.buffer = acquireBuffer();
+    }
+
+    /**
+     * @param timeout in milliseconds, 0 to wait forever
+     * @return false if the timeout expired
+     */
+    boolean await(int timeout) throws IOException {
+      try {
+        if (timeout <= 0) {
+          while (selector.select() == 0) {
+            ensureChannelOpen();
+          }
+          selector.selectedKeys().clear();
+          return true;
+        }
+        long deadline = System.currentTimeMillis() + timeout;
+        long remaining = timeout;
+        while (remaining > 0) {
+          if (selector.select(remaining) > 0) {
+            selector.selectedKeys().clear();
+            return true;
+          }
+          ensureChannelOpen();
+          remaining = deadline - System.currentTimeMillis();
+        }
+        return false;
+      } catch (ClosedSelectorException ex) {
+        throw new IOException("Socket closed", ex);
+      }
+    }
+
+    private void ensureChannelOpen() throws IOException {
+      if (!channel.isOpen()) {
+        throw new IOException("Socket closed");
+      }
+    }
+
+    void release() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        socket.close();
+      } finally {
+        // wakes up a thread blocked in await(), which then lets go of the buffer
+        selector.close();
+        synchronized (this) {
+          releaseBuffer(buffer);
+          buffer = null;
+        }
+      }
+    }
+
+    void ensureOpen() throws IOException {
+      if (buffer == null) {
+        throw new IOException("Stream closed");
+      }
+    }
+  }
+
+  private final class ChannelInputStream extends InputStream {
+
+    private final ChannelStream stream;
+
+    ChannelInputStream(Socket socket, SocketChannel channel) throws IOException {
+      this.stream = new ChannelStream(socket, channel, SelectionKey.OP_READ);
+      stream.buffer.flip(); // start empty, in read mode
+    }
+
+    @Override
+    public int read() throws IOException {
+      synchronized (stream) {
+        stream.ensureOpen();
+        if (!stream.buffer.hasRemaining() && fill() < 0) {
+          return -1;
+        }
+        return stream.buffer.get() & 0xff;
+      }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      synchronized (stream) {
+        stream.ensureOpen();
+        if (len == 0) {
+          return 0;
+        }
+        if (!stream.buffer.hasRemaining() && fill() < 0) {
+          return -1;
+        }
+        int n = Math.min(len, stream.buffer.remaining());
+        stream.buffer.get(b, off, n);
+        return n;
+      }
+    }
+
+    @Override
+    public int available() throws IOException {
+      synchronized (stream) {
+        stream.ensureOpen();
+        return stream.buffer.remaining();
+      }
+    }
+
+    private int fill() throws IOException {
+      ByteBuffer buffer = stream.buffer;
+      buffer.clear();
+      int n;
+      while ((n = stream.channel.read(buffer)) == 0) {
+        if (!stream.await(stream.socket.getSoTimeout())) {
+          buffer.flip();
+          throw new SocketTimeoutException("Read timed out");
+        }
+      }
+      buffer.flip();
+      return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.release();
+    }
+  }
+
+  private final class ChannelOutputStream extends OutputStream {
+
+    private final ChannelStream stream;
+
+    ChannelOutputStream(Socket socket, SocketChannel channel) throws IOException {
+      this.stream = new ChannelStream(socket, channel, SelectionKey.OP_WRITE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      synchronized (stream) {
+        stream.ensureOpen();
+        ByteBuffer buffer = stream.buffer;
+        while (len > 0) {
+          buffer.clear();
+          int n = Math.min(len, buffer.capacity());
+          buffer.put(b, off, n);
+          buffer.flip();
+          while (buffer.hasRemaining()) {
+            if (stream.channel.write(buffer) == 0) {
+              // blocking socket writes have no timeout either
+              stream.await(0);
+            }
+          }
+          off += n;
+          len -= n;
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      stream.release();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package redis.clients.jedis.args;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import redis.clients.jedis.util.RedisOutputStream;
+
+/**
+ * A command argument whose bytes are streamed to the connection while the command is written,
+ * instead of being copied into a byte[] beforehand. RESP announces the length of every argument
+ * before its payload, so the length must be known up front.
+ * <p>
+ * A value created from an {@link InputStream} can be sent only once.
+ */
+public abstract class StreamedValue {
+
+  private final int length;
+
+  private StreamedValue(final long length) {
+    if (length < 0 || length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid value length: " + length);
+    }
+    this.length = (int) length;
+  }
+
+  public int length() {
+    return length;
+  }
+
+  public abstract void writeTo(RedisOutputStream out) throws IOException;
+
+  /**
+   * @param in the stream to read the value from
+   * @param length the exact number of bytes to read from <code>in</code>
+   */
+  public static StreamedValue of(final InputStream in, final long length) {
+    return new StreamedValue(length) {
+      @Override
+      public void writeTo(RedisOutputStream out) throws IOException {
+        out.write(in, length);
+      }
+    };
+  }
+
+  /**
+   * @param buffer the value is made of the remaining bytes of the buffer; its position is not
+   *          changed
+   */
+  public static StreamedValue of(final ByteBuffer buffer) {
+    return new StreamedValue(buffer.remaining()) {
+      @Override
+      public void writeTo(RedisOutputStream out) throws IOException {
+        out.write(buffer);
+      }
+    };
+  }
+
+  /**
+   * @param channel the file to read the value from
+   * @param position the position in the file at which the value starts
+   * @param length the number of bytes to read from the file
+   */
+  public static StreamedValue of(final FileChannel channel, final long position,
+      final long length) {
+    return new StreamedValue(length) {
+      @Override
+      public void writeTo(RedisOutputStream out) throws IOException {
+        out.write(channel, position, length);
+      }
+    };
+  }
+}
@@ -1,5 +1,6 @@
 package redis.clients.jedis.util;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.Socket;
 
@@ -17,4 +18,14 @@ public class IOUtils {
       }
     }
   }
+
+  public static void closeQuietly(Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // ignored
+      }
+    }
+  }
 }
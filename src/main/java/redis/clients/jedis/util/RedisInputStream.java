@@ -13,6 +13,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import redis.clients.jedis.exceptions.JedisConnectionException;
 
@@ -23,16 +26,32 @@ import redis.clients.jedis.exceptions.JedisConnectionException;
  */
 public class RedisInputStream extends FilterInputStream {
 
-  protected final byte[] buf;
+  private static final byte[][] NO_SHARED_LINES = new byte[0][];
+
+  protected byte[] buf;
+
+  private final int initialSize;
+  private final int maxSize;
 
   protected int count, limit;
 
   public RedisInputStream(InputStream in, int size) {
+    this(in, size, size);
+  }
+
+  /**
+   * @param size initial size of the buffer
+   * @param maxSize size up to which the buffer grows while large replies are read, so that they
+   * are read with fewer calls to the underlying stream
+   */
+  public RedisInputStream(InputStream in, int size, int maxSize) {
     super(in);
     if (size <= 0) {
       throw new IllegalArgumentException("Buffer size <= 0");
     }
     buf = new byte[size];
+    initialSize = size;
+    this.maxSize = Math.max(size, maxSize);
   }
 
   public RedisInputStream(InputStream in) {
@@ -73,6 +92,14 @@ public class RedisInputStream extends FilterInputStream {
   }
 
   public byte[] readLineBytes() {
+    return readLineBytes(NO_SHARED_LINES);
+  }
+
+  /**
+   * Like {@link #readLineBytes()}, but returns the array of <code>shared</code> that has the same
+   * content as the line, if any, instead of a new one.
+   */
+  public byte[] readLineBytes(final byte[][] shared) {
 
     /*
      * This operation should only require one fill. In that typical case we optimize allocation and
@@ -101,12 +128,30 @@ public class RedisInputStream extends FilterInputStream {
     }
 
     final int N = (pos - count) - 2;
+    for (final byte[] candidate : shared) {
+      if (regionEquals(candidate, N)) {
+        count = pos;
+        return candidate;
+      }
+    }
     final byte[] line = new byte[N];
     System.arraycopy(buf, count, line, 0, N);
     count = pos;
     return line;
   }
 
+  private boolean regionEquals(final byte[] candidate, final int len) {
+    if (candidate.length != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (buf[count + i] != candidate[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Slow path in case a line of bytes cannot be read in one #fill() operation. This is still faster
    * than creating the StrinbBuilder, String, then encoding as byte[] in Protocol, then decoding
@@ -149,8 +194,7 @@ public class RedisInputStream extends FilterInputStream {
   }
 
   public long readLongCrLf() {
-    final byte[] buf = this.buf;
-
+    // no local copy of buf, filling may replace it
     ensureFill();
 
     final boolean isNeg = buf[count] == '-';
@@ -189,12 +233,140 @@ public class RedisInputStream extends FilterInputStream {
     return length;
   }
 
+  /**
+   * Copies exactly <code>len</code> bytes of the stream to <code>out</code>, straight from the
+   * internal buffer.
+   */
+  public void copyTo(final OutputStream out, int len) throws IOException {
+    while (len > 0) {
+      ensureFill();
+
+      final int length = Math.min(limit - count, len);
+      out.write(buf, count, length);
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Copies exactly <code>len</code> bytes of the stream to <code>out</code>, straight from the
+   * internal buffer. The channel is expected to be in blocking mode.
+   */
+  public void copyTo(final WritableByteChannel out, int len) throws IOException {
+    while (len > 0) {
+      ensureFill();
+
+      final int length = Math.min(limit - count, len);
+      final ByteBuffer chunk = ByteBuffer.wrap(buf, count, length);
+      while (chunk.hasRemaining()) {
+        out.write(chunk);
+      }
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Copies exactly <code>len</code> bytes of the stream to <code>dst</code>, straight from the
+   * internal buffer. The caller must make sure that <code>dst</code> has enough room.
+   */
+  public void copyTo(final ByteBuffer dst, int len) {
+    while (len > 0) {
+      ensureFill();
+
+      final int length = Math.min(limit - count, len);
+      dst.put(buf, count, length);
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Makes the next <code>len</code> bytes available in one piece of the internal buffer, so that
+   * they can be used without copying, and consumes them. If needed, the unread part of the buffer
+   * is first moved to its start.
+   * @return the offset of the bytes in {@link #getBuffer()}, or -1 (and nothing is consumed) if
+   * <code>len</code> is larger than the buffer can grow
+   */
+  public int consumeInPlace(final int len) throws JedisConnectionException {
+    if (len > buf.length) {
+      if (len > maxSize) {
+        return -1;
+      }
+      final byte[] grown = new byte[(int) Math.max(len, Math.min(buf.length * 2L, maxSize))];
+      System.arraycopy(buf, count, grown, 0, limit - count);
+      limit -= count;
+      count = 0;
+      buf = grown;
+    }
+
+    if (limit - count < len) {
+      if (buf.length - count < len) {
+        final int remaining = limit - count;
+        System.arraycopy(buf, count, buf, 0, remaining);
+        count = 0;
+        limit = remaining;
+      }
+      try {
+        while (limit - count < len) {
+          final int read = in.read(buf, limit, buf.length - limit);
+          if (read == -1) {
+            throw new JedisConnectionException("Unexpected end of stream.");
+          }
+          limit += read;
+        }
+      } catch (IOException e) {
+        throw new JedisConnectionException(e);
+      }
+    }
+
+    final int offset = count;
+    count += len;
+    return offset;
+  }
+
+  /**
+   * @return the internal buffer, to be used with the offset returned by
+   * {@link #consumeInPlace(int)} before anything else is read
+   */
+  public byte[] getBuffer() {
+    return buf;
+  }
+
+  /**
+   * Discards exactly <code>len</code> bytes of the stream.
+   */
+  public void skipBytes(int len) {
+    while (len > 0) {
+      ensureFill();
+
+      final int length = Math.min(limit - count, len);
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Returns to the initial buffer size if the buffer has grown and holds no unread data.
+   */
+  public void shrink() {
+    if (count >= limit && buf.length > initialSize) {
+      buf = new byte[initialSize];
+      count = 0;
+      limit = 0;
+    }
+  }
+
   /**
    * This methods assumes there are required bytes to be read. If we cannot read anymore bytes an
    * exception is thrown to quickly ascertain that the stream was smaller than expected.
    */
   private void ensureFill() throws JedisConnectionException {
     if (count >= limit) {
+      if (limit == buf.length && buf.length < maxSize) {
+        // the last read filled the whole buffer, the reply is likely to go on
+        buf = new byte[(int) Math.min(buf.length * 2L, maxSize)];
+      }
       try {
         limit = in.read(buf);
         count = 0;
@@ -1,8 +1,15 @@
 package redis.clients.jedis.util;
 
+import java.io.EOFException;
 import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
 
 /**
  * The class implements a buffered output stream without synchronization There are also special
@@ -10,7 +17,10 @@ import java.io.OutputStream;
  * used outside Jedis
  */
 public final class RedisOutputStream extends FilterOutputStream {
-  protected final byte[] buf;
+  protected byte[] buf;
+
+  private final int initialSize;
+  private final int maxSize;
 
   protected int count;
 
@@ -40,11 +50,22 @@ public final class RedisOutputStream extends FilterOutputStream {
   }
 
   public RedisOutputStream(final OutputStream out, final int size) {
+    this(out, size, size);
+  }
+
+  /**
+   * @param size initial size of the buffer
+   * @param maxSize size up to which the buffer grows instead of being flushed when it is full, so
+   * that large pipelines are written with fewer calls to the underlying stream
+   */
+  public RedisOutputStream(final OutputStream out, final int size, final int maxSize) {
     super(out);
     if (size <= 0) {
       throw new IllegalArgumentException("Buffer size <= 0");
     }
     buf = new byte[size];
+    initialSize = size;
+    this.maxSize = Math.max(size, maxSize);
   }
 
   private void flushBuffer() throws IOException {
@@ -54,10 +75,38 @@ public final class RedisOutputStream extends FilterOutputStream {
     }
   }
 
-  public void write(final byte b) throws IOException {
-    if (count == buf.length) {
-      flushBuffer();
+  /**
+   * Makes sure the buffer has room for <code>needed</code> more bytes: grows it if allowed and
+   * enough, flushes it otherwise.
+   */
+  private void makeRoom(final int needed) throws IOException {
+    if (buf.length - count >= needed) {
+      return;
+    }
+    if (buf.length < maxSize) {
+      final int size = (int) Math.min(Math.max(buf.length * 2L, (long) count + needed), maxSize);
+      if (size - count >= needed) {
+        buf = Arrays.copyOf(buf, size);
+        return;
+      }
+    }
+    flushBuffer();
+    if (buf.length < needed && buf.length < maxSize) {
+      buf = new byte[(int) Math.min(Math.max(buf.length * 2L, needed), maxSize)];
     }
+  }
+
+  /**
+   * Returns to the initial buffer size if the buffer has grown and is empty.
+   */
+  public void shrink() {
+    if (count == 0 && buf.length > initialSize) {
+      buf = new byte[initialSize];
+    }
+  }
+
+  public void write(final byte b) throws IOException {
+    makeRoom(1);
     buf[count++] = b;
   }
 
@@ -68,23 +117,75 @@ public final class RedisOutputStream extends FilterOutputStream {
 
   @Override
   public void write(final byte[] b, final int off, final int len) throws IOException {
-    if (len >= buf.length) {
+    if (len >= maxSize) {
       flushBuffer();
       out.write(b, off, len);
     } else {
-      if (len >= buf.length - count) {
-        flushBuffer();
-      }
+      makeRoom(len);
 
       System.arraycopy(b, off, buf, count, len);
       count += len;
     }
   }
 
-  public void writeCrLf() throws IOException {
-    if (2 >= buf.length - count) {
-      flushBuffer();
+  /**
+   * Writes exactly <code>len</code> bytes read from <code>in</code>. The bytes are read straight
+   * into the internal buffer, so no intermediate array is needed.
+   */
+  public void write(final InputStream in, long len) throws IOException {
+    while (len > 0) {
+      makeRoom(1);
+
+      final int read = in.read(buf, count, (int) Math.min(buf.length - count, len));
+      if (read == -1) {
+        throw new EOFException("Stream ended " + len + " bytes before the announced length.");
+      }
+      count += read;
+      len -= read;
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of <code>src</code> without changing its position. Large heap
+   * buffers bypass the internal buffer.
+   */
+  public void write(final ByteBuffer src) throws IOException {
+    if (src.hasArray()) {
+      write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+      return;
+    }
+
+    final ByteBuffer chunk = src.duplicate();
+    while (chunk.hasRemaining()) {
+      makeRoom(1);
+
+      final int length = Math.min(buf.length - count, chunk.remaining());
+      chunk.get(buf, count, length);
+      count += length;
+    }
+  }
+
+  /**
+   * Writes <code>len</code> bytes of <code>src</code> starting at <code>position</code>. The
+   * internal buffer is flushed first and the file region is transferred directly to the
+   * underlying stream.
+   */
+  public void write(final FileChannel src, long position, long len) throws IOException {
+    flushBuffer();
+
+    final WritableByteChannel target = Channels.newChannel(out);
+    while (len > 0) {
+      final long transferred = src.transferTo(position, len, target);
+      if (transferred <= 0) {
+        throw new EOFException("File ended " + len + " bytes before the announced length.");
+      }
+      position += transferred;
+      len -= transferred;
     }
+  }
+
+  public void writeCrLf() throws IOException {
+    makeRoom(2);
 
     buf[count++] = '\r';
     buf[count++] = '\n';
@@ -101,9 +202,7 @@ public final class RedisOutputStream extends FilterOutputStream {
       size++;
 
     size++;
-    if (size >= buf.length - count) {
-      flushBuffer();
-    }
+    makeRoom(size);
 
     int q, r;
     int charPos = count + size;
@@ -1,11 +1,10 @@
 package redis.clients.jedis.util;
 
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.List;
-
-import redis.clients.jedis.Protocol;
-import redis.clients.jedis.exceptions.JedisException;
+import java.util.Map;
 
 /**
  * The only reason to have this is to be able to compatible with java 1.5 :(
@@ -25,22 +24,28 @@ public final class SafeEncoder {
   }
 
   public static byte[] encode(final String str) {
-    try {
-      if (str == null) {
-        throw new IllegalArgumentException("null value cannot be sent to redis");
+    if (str == null) {
+      throw new IllegalArgumentException("null value cannot be sent to redis");
+    }
+    // most keys and values are ASCII, which encodes to one byte per char
+    final int len = str.length();
+    final byte[] bytes = new byte[len];
+    for (int i = 0; i < len; i++) {
+      final char c = str.charAt(i);
+      if (c >= 0x80) {
+        return str.getBytes(StandardCharsets.UTF_8);
       }
-      return str.getBytes(Protocol.CHARSET);
-    } catch (UnsupportedEncodingException e) {
-      throw new JedisException(e);
+      bytes[i] = (byte) c;
     }
+    return bytes;
   }
 
   public static String encode(final byte[] data) {
-    try {
-      return new String(data, Protocol.CHARSET);
-    } catch (UnsupportedEncodingException e) {
-      throw new JedisException(e);
-    }
+    return new String(data, StandardCharsets.UTF_8);
+  }
+
+  public static String encode(final byte[] data, final int offset, final int length) {
+    return new String(data, offset, length, StandardCharsets.UTF_8);
   }
 
   /**
@@ -64,6 +69,13 @@ public final class SafeEncoder {
       return returnValueArray;
     }
 
+    if (dataToEncode instanceof Map.Entry) {
+      // an entry of a RESP3 map reply
+      Map.Entry<?, ?> entry = (Map.Entry<?, ?>) dataToEncode;
+      return new AbstractMap.SimpleImmutableEntry<>(encodeObject(entry.getKey()),
+          encodeObject(entry.getValue()));
+    }
+
     return dataToEncode;
   }
 }
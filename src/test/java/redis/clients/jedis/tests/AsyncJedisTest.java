@@ -0,0 +1,154 @@
+package redis.clients.jedis.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.AsyncJedis;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.tests.commands.JedisCommandTestBase;
+
+public class AsyncJedisTest extends JedisCommandTestBase {
+
+  private AsyncJedis async;
+
+  @Before
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    async = new AsyncJedis(hnp, DefaultJedisClientConfig.builder().password("foobared").build());
+  }
+
+  @After
+  @Override
+  public void tearDown() throws Exception {
+    if (async != null) {
+      async.close();
+    }
+    super.tearDown();
+  }
+
+  @Test
+  public void commands() throws Exception {
+    assertEquals("OK", async.set("foo", "bar").get(1, TimeUnit.SECONDS));
+    assertEquals("bar", async.get("foo").get(1, TimeUnit.SECONDS));
+    assertNull(async.get("missing").get(1, TimeUnit.SECONDS));
+    assertEquals(Long.valueOf(1), async.hset("hash", "field", "value").get(1, TimeUnit.SECONDS));
+    assertEquals("value", async.hgetAll("hash").get(1, TimeUnit.SECONDS).get("field"));
+    assertEquals(Boolean.TRUE, async.exists("foo").get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void repliesAreMatchedInOrderAcrossThreads() throws Exception {
+    final int threads = 8;
+    final int perThread = 1000;
+    final List<CompletableFuture<Long>> futures = new ArrayList<>();
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final String key = "counter" + t;
+      Thread worker = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < perThread; i++) {
+            CompletableFuture<Long> future = async.incr(key);
+            synchronized (futures) {
+              futures.add(future);
+            }
+          }
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    for (int t = 0; t < threads; t++) {
+      assertEquals(String.valueOf(perThread), jedis.get("counter" + t));
+    }
+    assertEquals(0, async.getInFlightCount());
+  }
+
+  @Test
+  public void autoPipelining() throws Exception {
+    async.close();
+    async = new AsyncJedis(hnp, DefaultJedisClientConfig.builder().password("foobared").build(),
+        64, 1000);
+
+    // a lone command is flushed once the linger time has passed
+    assertEquals("OK", async.set("foo", "bar").get(1, TimeUnit.SECONDS));
+    assertEquals(1, async.getFlushCount());
+
+    final List<CompletableFuture<String>> futures = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      futures.add(async.get("foo"));
+    }
+    for (CompletableFuture<String> future : futures) {
+      assertEquals("bar", future.get(1, TimeUnit.SECONDS));
+    }
+    assertEquals(201, async.getFlushedCommandCount());
+    assertTrue(async.getFlushCount() <= 5);
+    assertTrue(async.getAverageBatchSize() > 1);
+  }
+
+  @Test
+  public void lingerStartsWithEachBatch() throws Exception {
+    async.close();
+    async = new AsyncJedis(hnp, DefaultJedisClientConfig.builder().password("foobared").build(),
+        4, 400000);
+
+    CompletableFuture<String> first = async.get("foo");
+    Thread.sleep(300);
+    for (int i = 0; i < 3; i++) {
+      async.get("foo");
+    }
+    // the full batch is flushed at once, the next command waits for a linger time of its own
+    assertEquals(1, async.getFlushCount());
+    CompletableFuture<String> next = async.get("foo");
+    Thread.sleep(200);
+    assertEquals(1, async.getFlushCount());
+    assertNull(next.get(1, TimeUnit.SECONDS));
+    assertEquals(2, async.getFlushCount());
+    assertTrue(first.isDone());
+  }
+
+  @Test
+  public void errorReplyFailsOnlyItsFuture() throws Exception {
+    jedis.set("foo", "bar");
+    CompletableFuture<Long> wrongType = async.incr("foo");
+    CompletableFuture<String> next = async.get("foo");
+    try {
+      wrongType.get(1, TimeUnit.SECONDS);
+      fail("Expected the INCR to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof JedisDataException);
+    }
+    assertEquals("bar", next.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void closeFailsLaterCommands() throws Exception {
+    async.close();
+    try {
+      async.get("foo").get(1, TimeUnit.SECONDS);
+      fail("Expected the command to fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof JedisConnectionException);
+    }
+    assertTrue(async.isBroken());
+  }
+}
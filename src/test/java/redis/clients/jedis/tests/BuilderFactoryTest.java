@@ -1,10 +1,20 @@
 package redis.clients.jedis.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.junit.Test;
 
 import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.util.SafeEncoder;
 
 public class BuilderFactoryTest {
   @Test
@@ -18,4 +28,32 @@ public class BuilderFactoryTest {
     build = BuilderFactory.DOUBLE.build("-inf".getBytes());
     assertEquals(Double.valueOf(Double.NEGATIVE_INFINITY), build);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void buildFromResp3Replies() {
+    assertEquals(Double.valueOf(1.5), BuilderFactory.DOUBLE.build(1.5));
+    assertEquals(Boolean.TRUE, BuilderFactory.BOOLEAN.build(Boolean.TRUE));
+    assertEquals(Boolean.FALSE, BuilderFactory.BOOLEAN.build(0L));
+
+    List<Object> map = Arrays.<Object> asList(
+      new AbstractMap.SimpleImmutableEntry<Object, Object>(SafeEncoder.encode("a"),
+          SafeEncoder.encode("1")),
+      new AbstractMap.SimpleImmutableEntry<Object, Object>(SafeEncoder.encode("b"),
+          SafeEncoder.encode("2")));
+    Map<String, String> stringMap = BuilderFactory.STRING_MAP.build(map);
+    assertEquals(2, stringMap.size());
+    assertEquals("1", stringMap.get("a"));
+    assertEquals("2", stringMap.get("b"));
+    assertArrayEquals(SafeEncoder.encode("2"),
+      BuilderFactory.BYTE_ARRAY_MAP.build(map).get(SafeEncoder.encode("b")));
+    assertEquals(Arrays.asList("a", "1", "b", "2"), BuilderFactory.STRING_LIST.build(map));
+
+    List<Object> pairs = Arrays.<Object> asList(
+      Arrays.<Object> asList(SafeEncoder.encode("m1"), 1.0),
+      Arrays.<Object> asList(SafeEncoder.encode("m2"), 2.5));
+    Set<Tuple> tuples = BuilderFactory.TUPLE_ZSET.build(pairs);
+    Iterator<Tuple> iterator = tuples.iterator();
+    assertEquals(new Tuple("m1", 1.0), iterator.next());
+    assertEquals(new Tuple("m2", 2.5), iterator.next());
+  }
+}
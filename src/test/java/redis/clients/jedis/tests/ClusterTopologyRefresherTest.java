@@ -0,0 +1,85 @@
+package redis.clients.jedis.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.junit.Test;
+
+import redis.clients.jedis.ClusterTopologyRefresher;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClusterInfoCache;
+import redis.clients.jedis.JedisPool;
+
+public class ClusterTopologyRefresherTest {
+
+  @Test
+  public void refreshesPeriodically() {
+    JedisClusterInfoCache cache = mock(JedisClusterInfoCache.class);
+    try (ClusterTopologyRefresher refresher = new ClusterTopologyRefresher(cache,
+        Duration.ofMillis(50), Duration.ofMillis(10))) {
+      verify(cache, timeout(2000).atLeast(3)).renewClusterSlots(null);
+    }
+  }
+
+  @Test
+  public void debouncesTriggers() throws InterruptedException {
+    JedisClusterInfoCache cache = mock(JedisClusterInfoCache.class);
+    try (ClusterTopologyRefresher refresher = new ClusterTopologyRefresher(cache,
+        Duration.ofHours(1), Duration.ofMillis(500))) {
+      for (int i = 0; i < 10; i++) {
+        refresher.trigger();
+      }
+      verify(cache, timeout(1000).times(1)).renewClusterSlots(null);
+
+      // within minInterval of the last renewal
+      for (int i = 0; i < 10; i++) {
+        refresher.trigger();
+      }
+      Thread.sleep(100);
+      verify(cache, times(1)).renewClusterSlots(null);
+      verify(cache, timeout(2000).times(2)).renewClusterSlots(null);
+      assertEquals(2, refresher.getRefreshCount());
+    }
+  }
+
+  @Test
+  public void unchangedTopologyIsKept() {
+    JedisClusterInfoCache cache = new JedisClusterInfoCache(new GenericObjectPoolConfig<Jedis>(),
+        2000);
+    Jedis jedis = mock(Jedis.class);
+    when(jedis.clusterSlots()).thenReturn(slots(7379));
+    cache.discoverClusterNodesAndSlots(jedis);
+    JedisPool pool = cache.getSlotPool(42);
+    byte[] key = { 'k' };
+    HostAndPort importing = new HostAndPort("127.0.0.1", 7380);
+    cache.setAskTarget(key, importing);
+
+    cache.renewClusterSlots(jedis);
+    assertSame(pool, cache.getSlotPool(42));
+    assertEquals(importing, cache.getAskTarget(key));
+
+    when(jedis.clusterSlots()).thenReturn(slots(7380));
+    cache.renewClusterSlots(jedis);
+    assertNotSame(pool, cache.getSlotPool(42));
+    assertNull(cache.getAskTarget(key));
+    cache.reset();
+  }
+
+  private static List<Object> slots(long port) {
+    return Arrays.<Object> asList(Arrays.<Object> asList(0L, 16383L,
+      Arrays.<Object> asList("127.0.0.1".getBytes(), port)));
+  }
+}
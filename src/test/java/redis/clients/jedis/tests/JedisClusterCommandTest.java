@@ -1,30 +1,46 @@
 package redis.clients.jedis.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.LongConsumer;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import redis.clients.jedis.ClusterNodeHealth;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisClusterCommand;
 import redis.clients.jedis.JedisClusterConnectionHandler;
+import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisSlotBasedConnectionHandler;
+import redis.clients.jedis.ReadFrom;
 import redis.clients.jedis.exceptions.JedisAskDataException;
 import redis.clients.jedis.exceptions.JedisClusterMaxAttemptsException;
 import redis.clients.jedis.exceptions.JedisClusterOperationException;
@@ -186,12 +202,127 @@ public class JedisClusterCommandTest {
 
     InOrder inOrder = inOrder(connectionHandler, connection);
     inOrder.verify(connectionHandler).getConnectionFromSlot(anyInt());
+    inOrder.verify(connectionHandler).setAskTarget(new byte[0], askTarget);
     inOrder.verify(connectionHandler).getConnectionFromNode(askTarget);
-    inOrder.verify(connection).asking();
+    inOrder.verify(connection).askingForNextCommand();
     inOrder.verify(connection).close(); // From the finally clause in runWithRetries()
     inOrder.verifyNoMoreInteractions();
   }
 
+  @Test
+  public void runReadOnlyFromReplica() {
+    JedisSlotBasedConnectionHandler connectionHandler = mock(JedisSlotBasedConnectionHandler.class);
+    JedisPool replicaPool = mock(JedisPool.class);
+    Jedis replica = mock(Jedis.class);
+    when(connectionHandler.getReadFrom()).thenReturn(ReadFrom.REPLICA_PREFERRED);
+    when(connectionHandler.getReadPoolFromSlot(anyInt())).thenReturn(replicaPool);
+    when(replicaPool.getResource()).thenReturn(replica);
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        return "foo";
+      }
+    };
+
+    assertEquals("foo", testMe.runReadOnly("foo"));
+    verify(connectionHandler).recordReadLatency(eq(replicaPool), anyLong());
+    verify(replica).close();
+    verify(connectionHandler, never()).getConnectionFromSlot(anyInt());
+
+    // writes go to the master
+    assertEquals("foo", testMe.run("foo"));
+    verify(connectionHandler).getConnectionFromSlot(anyInt());
+  }
+
+  @Test
+  public void runReadOnlyFallsBackToMaster() {
+    JedisSlotBasedConnectionHandler connectionHandler = mock(JedisSlotBasedConnectionHandler.class);
+    JedisPool replicaPool = mock(JedisPool.class);
+    final Jedis replica = mock(Jedis.class);
+    Jedis master = mock(Jedis.class);
+    when(connectionHandler.getReadFrom()).thenReturn(ReadFrom.ROUND_ROBIN);
+    when(connectionHandler.getReadPoolFromSlot(anyInt())).thenReturn(replicaPool);
+    when(replicaPool.getResource()).thenReturn(replica);
+    when(connectionHandler.getConnectionFromSlot(anyInt())).thenReturn(master);
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        if (connection == replica) {
+          throw new JedisConnectionException("Connection failed");
+        }
+        return "foo";
+      }
+    };
+
+    assertEquals("foo", testMe.runReadOnly("foo"));
+    InOrder inOrder = inOrder(connectionHandler, replica, master);
+    inOrder.verify(connectionHandler).getReadPoolFromSlot(anyInt());
+    inOrder.verify(replica).close();
+    inOrder.verify(connectionHandler).getConnectionFromSlot(anyInt());
+    inOrder.verify(master).close();
+    verify(connectionHandler, never()).recordReadLatency(any(JedisPool.class), anyLong());
+  }
+
+  @Test
+  public void runAskTargetCached() {
+    JedisSlotBasedConnectionHandler connectionHandler = mock(JedisSlotBasedConnectionHandler.class);
+    Jedis connection = mock(Jedis.class);
+    final HostAndPort askTarget = new HostAndPort(null, 0);
+    when(connectionHandler.hasAskTargets()).thenReturn(true);
+    when(connectionHandler.getAskTarget(new byte[] { 'k' })).thenReturn(askTarget);
+    when(connectionHandler.getConnectionFromNode(askTarget)).thenReturn(connection);
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        return "foo";
+      }
+    };
+
+    assertEquals("foo", testMe.run("k"));
+
+    // the node the key was redirected to is asked right away
+    InOrder inOrder = inOrder(connectionHandler, connection);
+    inOrder.verify(connectionHandler).getConnectionFromNode(askTarget);
+    inOrder.verify(connection).askingForNextCommand();
+    inOrder.verify(connection).close();
+    verify(connectionHandler, never()).getConnectionFromSlot(anyInt());
+  }
+
+  @Test
+  public void runAskTargetDroppedOnMoved() {
+    JedisSlotBasedConnectionHandler connectionHandler = mock(JedisSlotBasedConnectionHandler.class);
+    final Jedis staleTarget = mock(Jedis.class);
+    Jedis movedTarget = mock(Jedis.class);
+    final HostAndPort askTarget = new HostAndPort("ask", 0);
+    final HostAndPort movedNode = new HostAndPort("moved", 0);
+    when(connectionHandler.hasAskTargets()).thenReturn(true);
+    when(connectionHandler.getAskTarget(new byte[] { 'k' })).thenReturn(askTarget);
+    when(connectionHandler.getConnectionFromNode(askTarget)).thenReturn(staleTarget);
+    when(connectionHandler.getConnectionFromNode(movedNode)).thenReturn(movedTarget);
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        if (connection == staleTarget) {
+          // the migration was aborted
+          throw new JedisMovedDataException("", movedNode, 0);
+        }
+        return "foo";
+      }
+    };
+
+    assertEquals("foo", testMe.run("k"));
+    verify(connectionHandler).removeAskTarget(new byte[] { 'k' });
+    verify(movedTarget).close();
+  }
+
   @Test
   public void runMovedThenAllNodesFailing() {
     // Test:
@@ -368,4 +499,158 @@ public class JedisClusterCommandTest {
     inOrder.verify(connectionHandler).getConnectionFromSlot(anyInt());
     inOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void runCircuitBreakerFailsFast() {
+    JedisSlotBasedConnectionHandler connectionHandler = spy(new JedisSlotBasedConnectionHandler(
+        Collections.<HostAndPort> emptySet(), new GenericObjectPoolConfig<Jedis>(), 2000));
+    connectionHandler.enableCircuitBreaker(3, Duration.ofHours(1));
+    JedisPool pool = mock(JedisPool.class);
+    when(pool.getResource()).thenReturn(mock(Jedis.class));
+    doReturn(pool).when(connectionHandler).getPoolFromSlot(anyInt());
+    doNothing().when(connectionHandler).renewSlotCache();
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        throw new JedisConnectionException("Connection failed");
+      }
+
+      @Override
+      protected void sleep(long ignored) {
+      }
+    };
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        testMe.run("foo");
+        fail("cluster command did not fail");
+      } catch (JedisClusterMaxAttemptsException e) {
+        fail("the circuit did not open");
+      } catch (JedisClusterOperationException e) {
+        // expected
+      }
+    }
+    // the second command did not reach the node
+    verify(pool, times(3)).getResource();
+    verify(connectionHandler).renewSlotCache();
+    ClusterNodeHealth health = connectionHandler.getNodeHealth(pool);
+    assertTrue(health.isOpen());
+    assertEquals(3, health.getFailureCount());
+    connectionHandler.close();
+  }
+
+  @Test
+  public void runCircuitBreakerCloses() {
+    JedisSlotBasedConnectionHandler connectionHandler = spy(new JedisSlotBasedConnectionHandler(
+        Collections.<HostAndPort> emptySet(), new GenericObjectPoolConfig<Jedis>(), 2000));
+    connectionHandler.enableCircuitBreaker(2, Duration.ZERO);
+    JedisPool pool = mock(JedisPool.class);
+    when(pool.getResource()).thenReturn(mock(Jedis.class));
+    doReturn(pool).when(connectionHandler).getPoolFromSlot(anyInt());
+    doNothing().when(connectionHandler).renewSlotCache();
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      int calls;
+
+      @Override
+      public String execute(Jedis connection) {
+        if (++calls <= 2) {
+          throw new JedisConnectionException("Connection failed");
+        }
+        return "foo";
+      }
+
+      @Override
+      protected void sleep(long ignored) {
+      }
+    };
+
+    // the circuit opens on the second failure, the third attempt is let through
+    assertEquals("foo", testMe.run("foo"));
+    verify(connectionHandler).renewSlotCache();
+    ClusterNodeHealth health = connectionHandler.getNodeHealth(pool);
+    assertFalse(health.isOpen());
+    assertEquals(0, health.getConsecutiveFailures());
+    assertEquals(1, health.getSuccessCount());
+    assertEquals(2, health.getFailureCount());
+    connectionHandler.close();
+  }
+
+  @Test
+  public void runCircuitBreakerFindsPromotedReplica() {
+    JedisSlotBasedConnectionHandler connectionHandler = spy(new JedisSlotBasedConnectionHandler(
+        Collections.<HostAndPort> emptySet(), new GenericObjectPoolConfig<Jedis>(), 2000));
+    connectionHandler.enableCircuitBreaker(2, Duration.ZERO);
+    final Jedis deadConnection = mock(Jedis.class);
+    final JedisPool dead = mock(JedisPool.class);
+    when(dead.getResource()).thenReturn(deadConnection);
+    final JedisPool promoted = mock(JedisPool.class);
+    when(promoted.getResource()).thenReturn(mock(Jedis.class));
+    final AtomicReference<JedisPool> slotPool = new AtomicReference<>(dead);
+    doAnswer(invocation -> slotPool.get()).when(connectionHandler).getPoolFromSlot(anyInt());
+    // the replica is promoted after the circuit of the master opened
+    doNothing().doAnswer(invocation -> {
+      slotPool.set(promoted);
+      return null;
+    }).when(connectionHandler).renewSlotCache();
+
+    JedisClusterCommand<String> testMe = new JedisClusterCommand<String>(connectionHandler, 10,
+        ONE_SECOND) {
+      @Override
+      public String execute(Jedis connection) {
+        if (connection == deadConnection) {
+          throw new JedisConnectionException("Connection failed");
+        }
+        return "foo";
+      }
+
+      @Override
+      protected void sleep(long ignored) {
+      }
+    };
+
+    // the circuit opens on the second failure, the third attempt fails through the open circuit
+    assertEquals("foo", testMe.run("foo"));
+    verify(connectionHandler, times(2)).renewSlotCache();
+    verify(dead, times(3)).getResource();
+    assertTrue(connectionHandler.getNodeHealth(dead).isOpen());
+    assertEquals(1, connectionHandler.getNodeHealth(promoted).getSuccessCount());
+    connectionHandler.close();
+  }
+
+  @Test
+  public void readsSkipReplicasWithOpenCircuit() {
+    JedisSlotBasedConnectionHandler connectionHandler = new JedisSlotBasedConnectionHandler(
+        Collections.<HostAndPort> emptySet(), new GenericObjectPoolConfig<Jedis>(), 2000) {
+      {
+        Jedis jedis = mock(Jedis.class);
+        when(jedis.clusterSlots()).thenReturn(Arrays.<Object> asList(Arrays.<Object> asList(0L,
+          16383L, Arrays.<Object> asList("127.0.0.1".getBytes(), 7379L),
+          Arrays.<Object> asList("127.0.0.1".getBytes(), 7380L))));
+        cache.discoverClusterNodesAndSlots(jedis);
+      }
+
+      @Override
+      public void renewSlotCache() {
+      }
+    };
+    connectionHandler.enableCircuitBreaker(1, Duration.ofHours(1));
+    JedisPool master = connectionHandler.getPoolFromSlot(0);
+    connectionHandler.setReadFrom(ReadFrom.REPLICA_PREFERRED);
+    JedisPool replica = connectionHandler.getReadPoolFromSlot(0);
+    assertNotSame(master, replica);
+
+    connectionHandler.recordFailure(replica);
+    for (ReadFrom readFrom : ReadFrom.values()) {
+      connectionHandler.setReadFrom(readFrom);
+      // LOWEST_LATENCY probes a random node of the slot once in 64 reads
+      for (int i = 0; i < 1000; i++) {
+        assertSame(master, connectionHandler.getReadPoolFromSlot(0));
+      }
+    }
+    connectionHandler.close();
+  }
 }
@@ -4,11 +4,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static redis.clients.jedis.tests.utils.AssertUtil.assertByteArraySetEquals;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,8 +42,11 @@ import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.ClusterReset;
 import redis.clients.jedis.DefaultJedisClientConfig;
 import redis.clients.jedis.JedisClusterInfoCache;
+import redis.clients.jedis.JedisClusterPipeline;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.ReadFrom;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.exceptions.*;
 import redis.clients.jedis.params.GeoRadiusParam;
 import redis.clients.jedis.params.GeoRadiusStoreParam;
@@ -273,6 +278,42 @@ public class JedisClusterTest {
     nodeSlave2.flushDB();
   }
 
+  @Test
+  public void testReadFromReplica() throws Exception {
+    node1.clusterMeet(LOCAL_IP, nodeInfoSlave2.getPort());
+    JedisClusterTestUtil.waitForClusterReady(node1, node2, node3, nodeSlave2);
+
+    for (String nodeInfo : node2.clusterNodes().split("\n")) {
+      if (nodeInfo.contains("myself")) {
+        nodeSlave2.clusterReplicate(nodeInfo.split(" ")[0]);
+        break;
+      }
+    }
+    while (!node1.clusterNodes().contains("slave")) {
+      Thread.sleep(50);
+    }
+    node2.set("test", "value");
+    node2.waitReplicas(1, 1000);
+
+    try (JedisCluster jc = new JedisCluster(nodeInfo1, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT,
+        DEFAULT_REDIRECTIONS, "cluster", DEFAULT_POOL_CONFIG)) {
+      jc.setReadFrom(ReadFrom.REPLICA_PREFERRED);
+      assertEquals(ReadFrom.REPLICA_PREFERRED, jc.getReadFrom());
+      String before = nodeSlave2.info("stats");
+      for (int i = 0; i < 10; i++) {
+        assertEquals("value", jc.get("test"));
+      }
+      // the reads were served by the replica
+      assertFalse(before.equals(nodeSlave2.info("stats")));
+      // writes still go to the master
+      jc.set("test", "other");
+      assertEquals("other", node2.get("test"));
+    } finally {
+      nodeSlave2.clusterReset(ClusterReset.SOFT);
+      nodeSlave2.flushDB();
+    }
+  }
+
   /**
    * slot->nodes 15363 node3 e
    */
@@ -406,6 +447,99 @@ public class JedisClusterTest {
     }
   }
 
+  @Test
+  public void testPipeline() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+
+    try (JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT,
+        DEFAULT_REDIRECTIONS, "cluster", DEFAULT_POOL_CONFIG)) {
+      JedisClusterPipeline p = jc.pipelined();
+      List<Response<String>> responses = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        p.set("key" + i, "value" + i);
+        responses.add(p.get("key" + i));
+      }
+      p.incr("key0");
+      List<Object> all = p.syncAndReturnAll();
+
+      assertEquals(201, all.size());
+      for (int i = 0; i < 100; i++) {
+        assertEquals("value" + i, responses.get(i).get());
+        assertEquals("value" + i, all.get(2 * i + 1));
+      }
+      assertTrue(all.get(200) instanceof JedisDataException);
+      assertEquals("value42", jc.get("key42"));
+    }
+  }
+
+  @Test
+  public void testCrossSlotCommands() {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+
+    try (JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT,
+        DEFAULT_REDIRECTIONS, "cluster", DEFAULT_POOL_CONFIG)) {
+      String[] keys = new String[50];
+      String[] keysvalues = new String[100];
+      List<String> values = new ArrayList<>();
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = "key" + i;
+        keysvalues[2 * i] = keys[i];
+        keysvalues[2 * i + 1] = "value" + i;
+        values.add("value" + i);
+      }
+
+      assertEquals("OK", jc.msetCrossSlot(keysvalues));
+      assertEquals(values, jc.mgetCrossSlot(keys));
+      assertEquals(Arrays.asList("value3", null, "value1"),
+        jc.mgetCrossSlot("key3", "missing", "key1"));
+      assertEquals(50, jc.existsCrossSlot(keys));
+      assertEquals(50, jc.touchCrossSlot(keys));
+      assertEquals(2, jc.delCrossSlot("key0", "key1", "missing"));
+      assertEquals(48, jc.unlinkCrossSlot(keys));
+      assertEquals(0, jc.existsCrossSlot(keys));
+    }
+  }
+
+  @Test
+  public void testPipelineFollowsRedirections() throws InterruptedException {
+    Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
+    jedisClusterNode.add(new HostAndPort("127.0.0.1", 7379));
+
+    try (JedisCluster jc = new JedisCluster(jedisClusterNode, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT,
+        DEFAULT_REDIRECTIONS, "cluster", DEFAULT_POOL_CONFIG)) {
+      // MOVED
+      int slot51 = JedisClusterCRC16.getSlot("51");
+      node2.clusterDelSlots(slot51);
+      node3.clusterDelSlots(slot51);
+      node3.clusterAddSlots(slot51);
+      JedisClusterTestUtil.waitForClusterReady(node1, node2, node3);
+
+      JedisClusterPipeline p = jc.pipelined();
+      Response<String> set = p.set("51", "foo");
+      Response<String> get = p.get("51");
+      Response<String> other = p.set("foo", "bar");
+      p.sync();
+      assertEquals("OK", set.get());
+      assertEquals("foo", get.get());
+      assertEquals("OK", other.get());
+
+      // ASK
+      String node2Id = JedisClusterTestUtil.getNodeId(node2.clusterNodes());
+      String node3Id = JedisClusterTestUtil.getNodeId(node3.clusterNodes());
+      int slot = JedisClusterCRC16.getSlot("e");
+      node3.clusterSetSlotMigrating(slot, node2Id);
+      node2.clusterSetSlotImporting(slot, node3Id);
+
+      p = jc.pipelined();
+      p.set("e", "e");
+      assertEquals(Arrays.<Object> asList("OK"), p.syncAndReturnAll());
+      node2.asking();
+      assertEquals("e", node2.get("e"));
+    }
+  }
+
   @Test
   public void testAskResponse() {
     Set<HostAndPort> jedisClusterNode = new HashSet<HostAndPort>();
@@ -55,6 +55,21 @@ public class JedisPoolTest {
     }
   }
 
+  @Test
+  public void checkBufferSizesWithConfig() {
+    try (JedisPool pool = new JedisPool(hnp, DefaultJedisClientConfig.builder()
+        .password("foobared").readBufferSize(1024).writeBufferSize(2048).maxBufferSize(65536)
+        .build())) {
+
+      try (Jedis jedis = pool.getResource()) {
+        assertEquals("PONG", jedis.ping());
+        assertEquals(1024, jedis.getClient().getReadBufferSize());
+        assertEquals(2048, jedis.getClient().getWriteBufferSize());
+        assertEquals(65536, jedis.getClient().getMaxBufferSize());
+      }
+    }
+  }
+
   @Test
   public void checkCloseableConnections() throws Exception {
     JedisPool pool = new JedisPool(new JedisPoolConfig(), hnp.getHost(), hnp.getPort(), 2000);
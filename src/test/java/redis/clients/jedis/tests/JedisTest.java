@@ -12,6 +12,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -23,6 +24,8 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.Protocol;
+import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.Tuple;
 import redis.clients.jedis.exceptions.InvalidURIException;
 import redis.clients.jedis.exceptions.JedisConnectionException;
 import redis.clients.jedis.exceptions.JedisException;
@@ -73,6 +76,21 @@ public class JedisTest extends JedisCommandTestBase {
     }
   }
 
+  @Test
+  public void connectWithResp3() {
+    try (Jedis jedis = new Jedis(hnp, DefaultJedisClientConfig.builder().password("foobared")
+        .redisProtocol(RedisProtocol.RESP3).build())) {
+      Map<String, String> hash = new HashMap<>();
+      hash.put("a", "1");
+      hash.put("b", "2");
+      jedis.hset("foo", hash);
+      assertEquals(hash, jedis.hgetAll("foo"));
+      jedis.zadd("zfoo", 1.5, "a");
+      assertEquals(Double.valueOf(1.5), jedis.zscore("zfoo", "a"));
+      assertEquals(Collections.singleton(new Tuple("a", 1.5)), jedis.zrangeWithScores("zfoo", 0, -1));
+    }
+  }
+
   @Test
   public void connectWithConfigInterface() {
     try (Jedis jedis = new Jedis(hnp, new JedisClientConfig() {
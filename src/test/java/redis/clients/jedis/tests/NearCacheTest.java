@@ -0,0 +1,192 @@
+package redis.clients.jedis.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.BinaryJedis;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.NearCache;
+import redis.clients.jedis.tests.commands.JedisCommandTestBase;
+
+public class NearCacheTest extends JedisCommandTestBase {
+
+  private NearCache cache;
+  private JedisClientConfig config;
+
+  @Before
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    cache = NearCache.builder().maxSize(3).build();
+    config = DefaultJedisClientConfig.builder().password("foobared").nearCache(cache).build();
+  }
+
+  @After
+  @Override
+  public void tearDown() throws Exception {
+    if (cache != null) {
+      cache.close();
+    }
+    super.tearDown();
+  }
+
+  /**
+   * The invalidation connection is started by the first read and is asynchronous, so reads bypass
+   * the cache until it is subscribed.
+   */
+  private void awaitSubscribed(Jedis cached, String key) throws InterruptedException {
+    long hits = cache.getHitCount();
+    for (int i = 0; i < 100; i++) {
+      cached.get(key);
+      if (cache.getHitCount() > hits) {
+        return;
+      }
+      Thread.sleep(20);
+    }
+  }
+
+  private void awaitValue(Jedis cached, String key, String expected) throws InterruptedException {
+    for (int i = 0; i < 100 && !expected.equals(cached.get(key)); i++) {
+      Thread.sleep(20);
+    }
+    assertEquals(expected, cached.get(key));
+  }
+
+  @Test
+  public void getIsServedFromCache() throws InterruptedException {
+    jedis.set("foo", "bar");
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      cache.resetStats();
+
+      assertEquals("bar", cached.get("foo"));
+      assertEquals("bar", cached.get("foo"));
+      assertEquals(2, cache.getHitCount());
+      assertEquals(0, cache.getMissCount());
+      assertEquals(1.0, cache.getHitRatio(), 0);
+    }
+  }
+
+  @Test
+  public void writeInvalidates() throws InterruptedException {
+    jedis.set("foo", "bar");
+    jedis.hset("hash", "field", "v1");
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      assertEquals("v1", cached.hget("hash", "field"));
+
+      jedis.set("foo", "baz");
+      jedis.hset("hash", "field", "v2");
+      awaitValue(cached, "foo", "baz");
+      for (int i = 0; i < 100 && !"v2".equals(cached.hget("hash", "field")); i++) {
+        Thread.sleep(20);
+      }
+      assertEquals("v2", cached.hget("hash", "field"));
+    }
+  }
+
+  @Test
+  public void nilIsCached() throws InterruptedException {
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "missing");
+      assertNull(cached.get("missing"));
+
+      jedis.set("missing", "now");
+      awaitValue(cached, "missing", "now");
+    }
+  }
+
+  @Test
+  public void binaryGet() throws InterruptedException {
+    byte[] key = { 0x01, 0x02 };
+    byte[] value = { 0x03, 0x04 };
+    jedis.set(key, value);
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      BinaryJedis binary = cached;
+      assertArrayEquals(value, binary.get(key));
+      long hits = cache.getHitCount();
+      assertArrayEquals(value, binary.get(key));
+      assertEquals(hits + 1, cache.getHitCount());
+    }
+  }
+
+  @Test
+  public void binaryGetCopiesKeysAndValues() throws InterruptedException {
+    byte[] key = { 0x01, 0x02 };
+    byte[] value = { 0x03, 0x04 };
+    jedis.set(key, value);
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      BinaryJedis binary = cached;
+      binary.get(key)[0] = 0x05;
+      // the caller reuses its key buffer
+      key[0] = 0x06;
+      long hits = cache.getHitCount();
+      assertArrayEquals(value, binary.get(new byte[] { 0x01, 0x02 }));
+      assertEquals(hits + 1, cache.getHitCount());
+    }
+  }
+
+  @Test
+  public void reconnectTurnsTrackingOnAgain() throws InterruptedException {
+    jedis.set("foo", "bar");
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      cached.disconnect();
+      assertEquals("bar", cached.get("foo"));
+
+      jedis.set("foo", "baz");
+      awaitValue(cached, "foo", "baz");
+    }
+  }
+
+  @Test
+  public void evictsWhenFull() throws InterruptedException {
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "k0");
+      for (int i = 0; i < 5; i++) {
+        cached.get("k" + i);
+      }
+      assertEquals(3, cache.size());
+      assertEquals(2, cache.getEvictionCount());
+    }
+  }
+
+  @Test
+  public void selectOtherDatabaseBypassesCache() throws InterruptedException {
+    jedis.set("foo", "bar");
+    try (Jedis cached = new Jedis(hnp, config)) {
+      awaitSubscribed(cached, "foo");
+      cached.select(1);
+      long hits = cache.getHitCount();
+      assertNull(cached.get("foo"));
+      assertEquals(hits, cache.getHitCount());
+      cached.select(0);
+    }
+  }
+
+  @Test
+  public void sharedByPool() throws InterruptedException {
+    jedis.set("foo", "bar");
+    try (JedisPool pool = new JedisPool(new JedisPoolConfig(), hnp, config)) {
+      try (Jedis cached = pool.getResource()) {
+        awaitSubscribed(cached, "foo");
+      }
+      long hits = cache.getHitCount();
+      try (Jedis cached = pool.getResource()) {
+        assertEquals("bar", cached.get("foo"));
+      }
+      assertEquals(hits + 1, cache.getHitCount());
+    }
+  }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matcher;
@@ -52,6 +53,172 @@ public class PipeliningTest extends JedisCommandTestBase {
     assertEquals("bar", results.get(1));
   }
 
+  @Test
+  public void pipelineWithMaxInFlight() {
+    jedis.set("string", "foo");
+
+    Pipeline p = jedis.pipelined();
+    p.setMaxInFlight(10);
+    Response<Long> first = p.incr("counter");
+    Response<Long> wrongType = p.incr("string");
+    List<Response<Long>> responses = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      responses.add(p.incr("counter"));
+    }
+
+    // read while the pipeline went on
+    assertEquals(Long.valueOf(1), first.get());
+    try {
+      wrongType.get();
+      fail("Expected a WRONGTYPE error");
+    } catch (JedisDataException e) {
+      // expected
+    }
+
+    p.sync();
+    for (int i = 0; i < 100; i++) {
+      assertEquals(Long.valueOf(i + 2), responses.get(i).get());
+    }
+  }
+
+  @Test
+  public void compactPipeline() {
+    jedis.set("string", "foo");
+
+    Pipeline p = jedis.pipelined();
+    p.setCompact(true);
+    p.setMaxInFlight(10);
+    for (int i = 0; i < 100; i++) {
+      assertNull(p.incr("counter"));
+    }
+    p.incr("string");
+    p.set("foo", "bar");
+    List<Object> results = p.syncAndReturnAll();
+
+    assertEquals(102, results.size());
+    assertEquals(Long.valueOf(100), results.get(99));
+    assertTrue(results.get(100) instanceof JedisDataException);
+    assertEquals("OK", results.get(101));
+
+    p.incr("counter");
+    p.sync();
+    assertTrue(p.syncAndReturnAll().isEmpty());
+    assertEquals("101", jedis.get("counter"));
+  }
+
+  @Test
+  public void pipelineWithConsumers() {
+    jedis.set("string", "foo");
+
+    final List<Long> values = new ArrayList<>();
+    final List<JedisDataException> errors = new ArrayList<>();
+    Pipeline p = jedis.pipelined();
+    p.setMaxInFlight(10);
+    for (int i = 0; i < 100; i++) {
+      p.incr("counter").onReply(values::add);
+    }
+    p.incr("string").onReply(values::add, errors::add);
+    // handed over while the pipeline went on
+    assertTrue(values.size() > 0 && values.size() < 100);
+    p.sync();
+
+    assertEquals(100, values.size());
+    assertEquals(Long.valueOf(100), values.get(99));
+    assertEquals(1, errors.size());
+
+    Response<String> late = p.get("string");
+    p.sync();
+    final List<String> strings = new ArrayList<>();
+    late.onReply(strings::add);
+    assertEquals(Arrays.asList("foo"), strings);
+  }
+
+  @Test
+  public void failingConsumerDoesNotBreakPipeline() {
+    Pipeline p = jedis.pipelined();
+    p.set("foo", "bar").onReply(r -> {
+      throw new IllegalStateException("consumer failed");
+    });
+    Response<String> get = p.get("foo");
+    try {
+      p.sync();
+      fail("Expected the consumer's exception");
+    } catch (IllegalStateException e) {
+      assertEquals("consumer failed", e.getMessage());
+    }
+    assertEquals("bar", get.get());
+    assertEquals("bar", jedis.get("foo"));
+  }
+
+  @Test
+  public void fullDuplexPipeline() {
+    jedis.set("string", "foo");
+
+    final List<Long> values = new ArrayList<>();
+    Pipeline p = jedis.pipelined();
+    p.setFullDuplex(true);
+    p.setMaxInFlight(100);
+    for (int i = 0; i < 10000; i++) {
+      p.incr("counter").onReply(values::add);
+    }
+    Response<Long> wrongType = p.incr("string");
+    Response<String> string = p.get("string");
+    p.sync();
+
+    assertEquals(10000, values.size());
+    assertEquals(Long.valueOf(10000), values.get(9999));
+    try {
+      wrongType.get();
+      fail("Expected a WRONGTYPE error");
+    } catch (JedisDataException e) {
+      // expected
+    }
+    assertEquals("foo", string.get());
+
+    // a second batch starts a new reader
+    Response<String> counter = p.get("counter");
+    p.sync();
+    assertEquals("10000", counter.get());
+
+    try {
+      p.syncAndReturnAll();
+      fail("Expected syncAndReturnAll to be refused");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    p.setFullDuplex(false);
+    p.get("counter");
+    assertEquals(Arrays.<Object> asList("10000"), p.syncAndReturnAll());
+  }
+
+  @Test
+  public void fullDuplexPipelineWithPause() throws InterruptedException {
+    Pipeline p = jedis.pipelined();
+    p.setFullDuplex(true);
+    Response<String> first = p.ping();
+    // longer than the socket timeout, the reader must not wait for the unflushed command
+    Thread.sleep(1000);
+    Response<String> second = p.ping();
+    p.sync();
+    assertEquals("PONG", first.get());
+    assertEquals("PONG", second.get());
+  }
+
+  @Test
+  public void fullDuplexPipelineBoundsInFlight() {
+    final int maxInFlight = 8;
+    final AtomicInteger read = new AtomicInteger();
+    Pipeline p = jedis.pipelined();
+    p.setFullDuplex(true);
+    p.setMaxInFlight(maxInFlight);
+    for (int i = 1; i <= 1000; i++) {
+      p.incr("counter").onReply(value -> read.incrementAndGet());
+      assertTrue(i - read.get() <= maxInFlight);
+    }
+    p.sync();
+    assertEquals(1000, read.get());
+  }
+
   @Test
   public void pipelineResponse() {
     jedis.set("string", "foo");
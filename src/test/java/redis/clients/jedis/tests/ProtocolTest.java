@@ -2,24 +2,45 @@ package redis.clients.jedis.tests;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static redis.clients.jedis.tests.utils.AssertUtil.assertByteArrayListEquals;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.Test;
 
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.BuilderFactory;
 import redis.clients.jedis.Protocol;
+import redis.clients.jedis.StreamEntry;
+import redis.clients.jedis.Tuple;
+import redis.clients.jedis.args.StreamedValue;
+import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.exceptions.JedisBusyException;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.util.RedisInputStream;
 import redis.clients.jedis.util.RedisOutputStream;
 import redis.clients.jedis.util.SafeEncoder;
@@ -46,6 +67,80 @@ public class ProtocolTest {
     assertEquals(expectedCommand, sb.toString());
   }
 
+  @Test
+  public void cachedHeadersMatchGenericEncoding() throws IOException {
+    for (final Protocol.Command command : Protocol.Command.values()) {
+      ProtocolCommand uncached = new ProtocolCommand() {
+        @Override
+        public byte[] getRaw() {
+          return command.getRaw();
+        }
+      };
+      for (int argCount = 0; argCount <= 10; argCount++) {
+        byte[][] args = new byte[argCount][];
+        for (int i = 0; i < argCount; i++) {
+          args[i] = SafeEncoder.encode("arg" + i);
+        }
+        assertArrayEquals(command + " with " + argCount + " args", encode(uncached, args),
+          encode(command, args));
+      }
+    }
+  }
+
+  private static byte[] encode(ProtocolCommand command, byte[]... args) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(out);
+    Protocol.sendCommand(ros, command, args);
+    ros.flush();
+    return out.toByteArray();
+  }
+
+  @Test
+  public void buildACommandWithStreamedValues() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(out, 16);
+
+    byte[] large = new byte[100];
+    Arrays.fill(large, (byte) 'a');
+    ByteBuffer direct = ByteBuffer.allocateDirect(3);
+    direct.put("baz".getBytes()).flip();
+
+    Protocol.sendCommand(ros, Protocol.Command.HSET, new byte[][] { "key".getBytes() },
+      StreamedValue.of(new FragmentedByteArrayInputStream("foo".getBytes()), 3),
+      StreamedValue.of(ByteBuffer.wrap(large)), StreamedValue.of(direct));
+    ros.flush();
+
+    String expectedCommand = "*5\r\n$4\r\nHSET\r\n$3\r\nkey\r\n$3\r\nfoo\r\n$100\r\n"
+        + new String(large) + "\r\n$3\r\nbaz\r\n";
+    assertEquals(expectedCommand, out.toString());
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  public void buildACommandWithFileRegion() throws IOException {
+    File file = File.createTempFile("jedis", "value");
+    file.deleteOnExit();
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.write("0123456789".getBytes());
+      FileChannel channel = raf.getChannel();
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      RedisOutputStream ros = new RedisOutputStream(out);
+      Protocol.sendCommand(ros, Protocol.Command.SET, new byte[][] { "key".getBytes() },
+        StreamedValue.of(channel, 2, 5));
+      ros.flush();
+
+      assertEquals("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\n23456\r\n", out.toString());
+    }
+  }
+
+  @Test(expected = JedisConnectionException.class)
+  public void streamedValueShorterThanAnnounced() {
+    RedisOutputStream ros = new RedisOutputStream(new ByteArrayOutputStream());
+    Protocol.sendCommand(ros, Protocol.Command.SET, new byte[][] { "key".getBytes() },
+      StreamedValue.of(new ByteArrayInputStream("foo".getBytes()), 4));
+  }
+
   @Test(expected = IOException.class)
   public void writeOverflow() throws IOException {
     RedisOutputStream ros = new RedisOutputStream(new OutputStream() {
@@ -104,6 +199,35 @@ public class ProtocolTest {
     assertEquals(123, response);
   }
 
+  @Test
+  public void encodeStrings() {
+    String[] strings = { "ascii", "", "caf\u00e9", "\u20ac100", "\ud83d\ude00 smile",
+        "bad \ud800 pair" };
+    for (String string : strings) {
+      byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+      assertArrayEquals(encoded, SafeEncoder.encode(string));
+      assertEquals(string.replace('\ud800', '?'), SafeEncoder.encode(encoded));
+    }
+  }
+
+  @Test
+  public void commonRepliesAreShared() {
+    InputStream is = new ByteArrayInputStream(
+        ("+OK\r\n+OKAY\r\n+PONG\r\n+OK\r\n+OK\r\n:1\r\n:1\r\n"
+            + "+QUEUED\r\n+OKAY\r\n$2\r\nOK\r\n").getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    assertSame("OK", Protocol.readStatusCodeReply(ris));
+    assertEquals("OKAY", Protocol.readStatusCodeReply(ris));
+    assertSame("PONG", Protocol.readStatusCodeReply(ris));
+    // arrays that reach the caller are never shared
+    assertNotSame(Protocol.read(ris), Protocol.read(ris));
+    assertSame(Protocol.read(ris), Protocol.read(ris));
+    // only status replies are decoded
+    assertSame("QUEUED", Protocol.readDecodingStatus(ris));
+    assertArrayEquals(SafeEncoder.encode("OKAY"), (byte[]) Protocol.readDecodingStatus(ris));
+    assertArrayEquals(SafeEncoder.encode("OK"), (byte[]) Protocol.readDecodingStatus(ris));
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void multiBulkReply() {
@@ -138,4 +262,314 @@ public class ProtocolTest {
     }
     fail("Expected a JedisBusyException to be thrown.");
   }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void mapReply() {
+    InputStream is = new ByteArrayInputStream(
+        "%2\r\n$3\r\nfoo\r\n:1\r\n+bar\r\n*1\r\n$3\r\nbaz\r\n".getBytes());
+    List<Map.Entry<Object, Object>> response = (List<Map.Entry<Object, Object>>) Protocol
+        .read(new RedisInputStream(is));
+    assertEquals(2, response.size());
+    assertArrayEquals(SafeEncoder.encode("foo"), (byte[]) response.get(0).getKey());
+    assertEquals(1L, response.get(0).getValue());
+    assertArrayEquals(SafeEncoder.encode("bar"), (byte[]) response.get(1).getKey());
+    assertArrayEquals(SafeEncoder.encode("baz"),
+      ((List<byte[]>) response.get(1).getValue()).get(0));
+  }
+
+  @Test
+  public void doubleReply() {
+    InputStream is = new ByteArrayInputStream(",1.5\r\n,inf\r\n,-inf\r\n,nan\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    assertEquals(1.5, Protocol.read(ris));
+    assertEquals(Double.POSITIVE_INFINITY, Protocol.read(ris));
+    assertEquals(Double.NEGATIVE_INFINITY, Protocol.read(ris));
+    assertEquals(Double.NaN, Protocol.read(ris));
+  }
+
+  @Test
+  public void booleanAndNullReply() {
+    InputStream is = new ByteArrayInputStream("#t\r\n#f\r\n_\r\n:1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    assertEquals(Boolean.TRUE, Protocol.read(ris));
+    assertEquals(Boolean.FALSE, Protocol.read(ris));
+    assertNull(Protocol.read(ris));
+    assertEquals(1L, Protocol.read(ris));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void setAndPushReply() {
+    InputStream is = new ByteArrayInputStream(
+        "~2\r\n$1\r\na\r\n$1\r\nb\r\n>2\r\n$7\r\nmessage\r\n:5\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    List<Object> set = (List<Object>) Protocol.read(ris);
+    assertArrayEquals(SafeEncoder.encode("a"), (byte[]) set.get(0));
+    assertArrayEquals(SafeEncoder.encode("b"), (byte[]) set.get(1));
+    List<Object> push = (List<Object>) Protocol.read(ris);
+    assertArrayEquals(SafeEncoder.encode("message"), (byte[]) push.get(0));
+    assertEquals(5L, push.get(1));
+  }
+
+  @Test
+  public void attributeIsSkipped() {
+    InputStream is = new ByteArrayInputStream(
+        "|1\r\n+key-popularity\r\n%1\r\n$1\r\na\r\n,0.19\r\n:2039\r\n".getBytes());
+    assertEquals(2039L, Protocol.read(new RedisInputStream(is)));
+  }
+
+  @Test
+  public void verbatimAndBigNumberReply() {
+    InputStream is = new ByteArrayInputStream(
+        "=15\r\ntxt:Some string\r\n(3492890328409238509324850943850943825024385\r\n"
+            .getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    assertArrayEquals(SafeEncoder.encode("Some string"), (byte[]) Protocol.read(ris));
+    assertArrayEquals(SafeEncoder.encode("3492890328409238509324850943850943825024385"),
+      (byte[]) Protocol.read(ris));
+  }
+
+  @Test
+  public void blobErrorReply() {
+    InputStream is = new ByteArrayInputStream(
+        "!21\r\nSYNTAX invalid syntax\r\n".getBytes());
+    try {
+      Protocol.read(new RedisInputStream(is));
+      fail("Expected a JedisDataException to be thrown.");
+    } catch (JedisDataException e) {
+      assertEquals("SYNTAX invalid syntax", e.getMessage());
+    }
+  }
+  @Test
+  public void bulkReplyToOutputStream() {
+    FragmentedByteArrayInputStream fis = new FragmentedByteArrayInputStream(
+        "$30\r\n012345678901234567890123456789\r\n+OK\r\n".getBytes());
+    RedisInputStream is = new RedisInputStream(fis, 8);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(30, Protocol.readBulkReply(is, out));
+    assertArrayEquals(SafeEncoder.encode("012345678901234567890123456789"), out.toByteArray());
+    assertArrayEquals(SafeEncoder.encode("OK"), (byte[]) Protocol.read(is));
+  }
+
+  @Test
+  public void bulkReplyToChannel() {
+    InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n".getBytes());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(6, Protocol.readBulkReply(new RedisInputStream(is), Channels.newChannel(out)));
+    assertArrayEquals(SafeEncoder.encode("foobar"), out.toByteArray());
+  }
+
+  @Test
+  public void bulkReplyToByteBuffer() {
+    InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n".getBytes());
+    ByteBuffer dst = ByteBuffer.allocate(10);
+    assertEquals(6, Protocol.readBulkReply(new RedisInputStream(is), dst));
+    dst.flip();
+    byte[] read = new byte[dst.remaining()];
+    dst.get(read);
+    assertArrayEquals(SafeEncoder.encode("foobar"), read);
+  }
+
+  @Test
+  public void nullBulkReplyToOutputStream() {
+    InputStream is = new ByteArrayInputStream("$-1\r\n".getBytes());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(-1, Protocol.readBulkReply(new RedisInputStream(is), out));
+    assertEquals(0, out.size());
+  }
+
+  @Test
+  public void resp3RepliesToOutputStream() {
+    InputStream is = new ByteArrayInputStream(
+        "_\r\n=10\r\ntxt:foobar\r\n|1\r\n+ttl\r\n:3\r\n$3\r\nbar\r\n!5\r\nERR x\r\n+OK\r\n"
+            .getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(-1, Protocol.readBulkReply(ris, out));
+    assertEquals(0, out.size());
+    assertEquals(6, Protocol.readBulkReply(ris, out));
+    assertArrayEquals(SafeEncoder.encode("foobar"), out.toByteArray());
+    out.reset();
+    assertEquals(3, Protocol.readBulkReply(ris, out));
+    assertArrayEquals(SafeEncoder.encode("bar"), out.toByteArray());
+    try {
+      Protocol.readBulkReply(ris, out);
+      fail("Expected the blob error");
+    } catch (JedisDataException e) {
+      assertEquals("ERR x", e.getMessage());
+    }
+    assertArrayEquals(SafeEncoder.encode("OK"), (byte[]) Protocol.read(ris));
+  }
+
+  @Test
+  public void bulkReplyTooLargeForByteBuffer() {
+    InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n:1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    ByteBuffer dst = ByteBuffer.allocate(4);
+    try {
+      Protocol.readBulkReply(ris, dst);
+      fail("Expected a JedisDataException to be thrown.");
+    } catch (JedisDataException e) {
+      // the reply was skipped, so the stream is still in sync
+    }
+    assertEquals(0, dst.position());
+    assertEquals(1L, Protocol.read(ris));
+  }
+
+  private static Object readTree(String reply) {
+    return Protocol.read(new RedisInputStream(new ByteArrayInputStream(reply.getBytes())));
+  }
+
+  private static <T> T readWithHandler(String reply, Builder<T> builder) {
+    // a small buffer and single byte reads, so that bulks span fills or exceed the buffer
+    RedisInputStream is = new RedisInputStream(
+        new FragmentedByteArrayInputStream(reply.getBytes()), 16);
+    return Protocol.read(is, builder.newReplyHandler());
+  }
+
+  @Test
+  public void tupleZSetHandler() {
+    String flat = "*8\r\n$1\r\na\r\n$1\r\n1\r\n$20\r\nlonger-than-a-buffer\r\n$4\r\n-2.5\r\n"
+        + "$1\r\nc\r\n$18\r\n0.1000000000000001\r\n$1\r\nd\r\n$4\r\n-inf\r\n";
+    Set<Tuple> expected = BuilderFactory.TUPLE_ZSET.build(readTree(flat));
+    Set<Tuple> actual = readWithHandler(flat, BuilderFactory.TUPLE_ZSET);
+    assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+    assertEquals(-2.5, new ArrayList<>(actual).get(1).getScore(), 0);
+
+    String pairs = "*2\r\n*2\r\n$1\r\na\r\n,1.5\r\n*2\r\n$1\r\nb\r\n,inf\r\n";
+    assertEquals(new ArrayList<>(BuilderFactory.TUPLE_ZSET.build(readTree(pairs))),
+      new ArrayList<>(readWithHandler(pairs, BuilderFactory.TUPLE_ZSET)));
+
+    assertNull(readWithHandler("*-1\r\n", BuilderFactory.TUPLE_ZSET));
+    assertTrue(readWithHandler("*0\r\n", BuilderFactory.TUPLE_ZSET).isEmpty());
+  }
+
+  @Test
+  public void mapHandlers() {
+    String flat = "*4\r\n$3\r\nfoo\r\n$20\r\nlonger-than-a-buffer\r\n$1\r\nb\r\n$0\r\n\r\n";
+    assertEquals(BuilderFactory.STRING_MAP.build(readTree(flat)),
+      readWithHandler(flat, BuilderFactory.STRING_MAP));
+
+    String map = "%2\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$1\r\nb\r\n$1\r\nc\r\n";
+    assertEquals(BuilderFactory.STRING_MAP.build(readTree(map)),
+      readWithHandler(map, BuilderFactory.STRING_MAP));
+
+    Map<byte[], byte[]> binary = readWithHandler(map, BuilderFactory.BYTE_ARRAY_MAP);
+    assertEquals(2, binary.size());
+    assertArrayEquals(SafeEncoder.encode("bar"), binary.get(SafeEncoder.encode("foo")));
+  }
+
+  @Test
+  public void streamEntryListHandler() {
+    String reply = "*3\r\n*2\r\n$3\r\n1-0\r\n*4\r\n$1\r\na\r\n$1\r\n1\r\n$1\r\nb\r\n"
+        + "$20\r\nlonger-than-a-buffer\r\n*-1\r\n*2\r\n$3\r\n2-5\r\n*2\r\n$1\r\nc\r\n$1\r\n3\r\n";
+    List<StreamEntry> expected = BuilderFactory.STREAM_ENTRY_LIST.build(readTree(reply));
+    List<StreamEntry> actual = readWithHandler(reply, BuilderFactory.STREAM_ENTRY_LIST);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      if (expected.get(i) == null) {
+        assertNull(actual.get(i));
+        continue;
+      }
+      assertEquals(expected.get(i).getID(), actual.get(i).getID());
+      assertEquals(expected.get(i).getFields(), actual.get(i).getFields());
+    }
+  }
+
+  @Test
+  public void failingHandlerKeepsStreamInSync() {
+    InputStream is = new ByteArrayInputStream(
+        "*2\r\n*2\r\n$1\r\na\r\n-ERR nested\r\n*1\r\n$1\r\nb\r\n:1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    try {
+      Protocol.read(ris, BuilderFactory.TUPLE_ZSET.newReplyHandler());
+      fail("Expected a JedisDataException to be thrown.");
+    } catch (JedisDataException e) {
+      assertEquals("ERR nested", e.getMessage());
+    }
+    assertEquals(1L, Protocol.read(ris));
+  }
+
+  @Test
+  public void adaptiveReadBuffer() {
+    char[] chars = new char[1000];
+    Arrays.fill(chars, 'x');
+    String value = new String(chars);
+    final int[] largestRead = new int[1];
+    final int bulkLength = "$1000\r\n\r\n".length() + 1000;
+    InputStream is = new ByteArrayInputStream(("$1000\r\n" + value + "\r\n+OK\r\n").getBytes()) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        largestRead[0] = Math.max(largestRead[0], len);
+        // the bulk reply ends a read, like a reply followed by the next one later on
+        return super.read(b, off, pos < bulkLength ? Math.min(len, bulkLength - pos) : len);
+      }
+    };
+    RedisInputStream ris = new RedisInputStream(is, 16, 256);
+    assertEquals(value, SafeEncoder.encode((byte[]) Protocol.read(ris)));
+    assertEquals(256, largestRead[0]);
+
+    ris.shrink();
+    largestRead[0] = 0;
+    assertArrayEquals(SafeEncoder.encode("OK"), (byte[]) Protocol.read(ris));
+    assertEquals(16, largestRead[0]);
+  }
+
+  @Test
+  public void adaptiveWriteBuffer() throws IOException {
+    final int[] writes = new int[1];
+    OutputStream os = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        writes[0]++;
+        super.write(b, off, len);
+      }
+    };
+
+    RedisOutputStream fixed = new RedisOutputStream(os, 16);
+    for (int i = 0; i < 50; i++) {
+      Protocol.sendCommand(fixed, Protocol.Command.GET, SafeEncoder.encode("key" + i));
+    }
+    fixed.flush();
+    assertTrue(writes[0] > 50);
+
+    writes[0] = 0;
+    RedisOutputStream adaptive = new RedisOutputStream(os, 16, 4096);
+    for (int i = 0; i < 50; i++) {
+      Protocol.sendCommand(adaptive, Protocol.Command.GET, SafeEncoder.encode("key" + i));
+    }
+    adaptive.flush();
+    assertEquals(1, writes[0]);
+  }
+
+  @Test
+  public void adaptiveWriteBufferCappedAtMaxSize() throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(os, 8192, 10000);
+    byte[] first = new byte[8000];
+    Arrays.fill(first, (byte) 'a');
+    byte[] second = new byte[4000];
+    Arrays.fill(second, (byte) 'b');
+    byte[] third = new byte[12000];
+    Arrays.fill(third, (byte) 'c');
+    ros.write(first);
+    ros.write(second);
+    ros.write(third);
+    ros.flush();
+
+    byte[] expected = new byte[24000];
+    System.arraycopy(first, 0, expected, 0, 8000);
+    System.arraycopy(second, 0, expected, 8000, 4000);
+    System.arraycopy(third, 0, expected, 12000, 12000);
+    assertArrayEquals(expected, os.toByteArray());
+
+    os.reset();
+    ros = new RedisOutputStream(os, 16, 18);
+    ros.write(SafeEncoder.encode("123456789012345"));
+    ros.writeIntCrLf(123456);
+    ros.writeIntCrLf(-7);
+    ros.flush();
+    assertEquals("123456789012345123456\r\n-7\r\n", SafeEncoder.encode(os.toByteArray()));
+  }
 }
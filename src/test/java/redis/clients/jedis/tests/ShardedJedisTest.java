@@ -10,7 +10,11 @@ import static org.junit.Assert.fail;
 import static redis.clients.jedis.Protocol.Command.PING;
 import static redis.clients.jedis.Protocol.Command.SET;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -20,7 +24,11 @@ import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.Protocol;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.ShardedJedis;
+import redis.clients.jedis.ShardedJedisPipeline;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.tests.utils.ClientKillerUtil;
 import redis.clients.jedis.util.Hashing;
 import redis.clients.jedis.util.SafeEncoder;
@@ -136,6 +144,99 @@ public class ShardedJedisTest {
     j.disconnect();
   }
 
+  @Test
+  public void pipeline() {
+    List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
+    JedisShardInfo si = new JedisShardInfo(redis1);
+    si.setPassword("foobared");
+    shards.add(si);
+    si = new JedisShardInfo(redis2);
+    si.setPassword("foobared");
+    shards.add(si);
+    ShardedJedis jedis = new ShardedJedis(shards);
+    assertNotSame(jedis.getShardInfo("a"), jedis.getShardInfo("b"));
+
+    ShardedJedisPipeline p = jedis.pipelined();
+    p.set("a", "bar");
+    p.set("b", "bar1");
+    Response<String> a = p.get("a");
+    Response<Long> wrongType = p.incr("b");
+    Response<String> b = p.get("b");
+    p.sync();
+
+    assertEquals("bar", a.get());
+    assertEquals("bar1", b.get());
+    try {
+      wrongType.get();
+      fail("Expected an error reply");
+    } catch (JedisDataException e) {
+      // expected
+    }
+
+    p.get("b");
+    p.get("a");
+    assertEquals(Arrays.<Object> asList("bar1", "bar"), p.syncAndReturnAll());
+    jedis.disconnect();
+  }
+
+  @Test
+  public void pipelineWithFailingShard() throws Exception {
+    try (final ServerSocket server = new ServerSocket(0)) {
+      // a shard dropping its connection once it has received the commands
+      Thread dropper = new Thread(() -> {
+        try (Socket socket = server.accept()) {
+          socket.getInputStream().read(new byte[1024]);
+        } catch (IOException e) {
+          // the test fails on its own
+        }
+      });
+      dropper.start();
+
+      List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
+      JedisShardInfo si = new JedisShardInfo(redis1);
+      si.setPassword("foobared");
+      shards.add(si);
+      shards.add(new JedisShardInfo("localhost", server.getLocalPort()));
+      ShardedJedis jedis = new ShardedJedis(shards);
+      String liveKey = null;
+      String deadKey = null;
+      for (int i = 0; liveKey == null || deadKey == null; i++) {
+        if (jedis.getShardInfo("key" + i) == shards.get(0)) {
+          liveKey = "key" + i;
+        } else {
+          deadKey = "key" + i;
+        }
+      }
+      try (Jedis live = new Jedis(redis1)) {
+        live.auth("foobared");
+        live.set(liveKey, "bbb");
+      }
+
+      ShardedJedisPipeline p = jedis.pipelined();
+      Response<String> dead = p.get(deadKey);
+      Response<String> alive = p.get(liveKey);
+      Response<String> deadAgain = p.get(deadKey);
+      try {
+        p.sync();
+        fail("Expected a connection failure");
+      } catch (JedisConnectionException e) {
+        // expected
+      }
+      dropper.join();
+
+      assertEquals("bbb", alive.get());
+      for (Response<String> response : Arrays.asList(dead, deadAgain)) {
+        try {
+          response.get();
+          fail("Expected a connection failure");
+        } catch (JedisConnectionException e) {
+          // expected
+        }
+      }
+      jedis.disconnect();
+    }
+  }
+
   @Test
   public void tryShardingWithMurmure() {
     List<JedisShardInfo> shards = new ArrayList<JedisShardInfo>();
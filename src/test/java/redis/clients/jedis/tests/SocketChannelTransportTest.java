@@ -0,0 +1,139 @@
+package redis.clients.jedis.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.SocketChannelTransport;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+/**
+ * Runs the transport against a local socket that answers with canned replies, so no Redis server
+ * is needed.
+ */
+public class SocketChannelTransportTest {
+
+  private ServerSocket server;
+  private Thread serverThread;
+  private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+  private final CountDownLatch done = new CountDownLatch(1);
+
+  private SocketChannelTransport transport;
+  private Connection connection;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    transport = new SocketChannelTransport(16, 4);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (connection != null) {
+      connection.close();
+    }
+    server.close();
+    if (serverThread != null) {
+      serverThread.join(5000);
+    }
+  }
+
+  private void serve(final byte[] reply, final int expectedBytes) {
+    serverThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try (Socket socket = server.accept()) {
+          InputStream in = socket.getInputStream();
+          byte[] buf = new byte[1024];
+          while (received.size() < expectedBytes) {
+            int n = in.read(buf);
+            if (n < 0) {
+              break;
+            }
+            received.write(buf, 0, n);
+          }
+          OutputStream out = socket.getOutputStream();
+          out.write(reply);
+          out.flush();
+          done.await(5, TimeUnit.SECONDS);
+        } catch (IOException | InterruptedException e) {
+          // test is over
+        }
+      }
+    });
+    serverThread.start();
+  }
+
+  private Connection connect(int soTimeout) {
+    return new Connection(new HostAndPort(server.getInetAddress().getHostAddress(),
+        server.getLocalPort()), DefaultJedisClientConfig.builder().socketTimeoutMillis(soTimeout)
+        .transport(transport).build());
+  }
+
+  @Test
+  public void commandAndReplyLargerThanBuffer() throws InterruptedException {
+    char[] chars = new char[100];
+    Arrays.fill(chars, 'x');
+    String value = new String(chars);
+    String command = "*2\r\n$4\r\nECHO\r\n$100\r\n" + value + "\r\n";
+    serve(("$100\r\n" + value + "\r\n").getBytes(), command.length());
+
+    connection = connect(2000);
+    connection.sendCommand(Command.ECHO, value);
+    assertEquals(value, connection.getBulkReply());
+    assertEquals(command, received.toString());
+    assertNotNull(connection.getSocket().getChannel());
+    done.countDown();
+  }
+
+  @Test
+  public void readTimeout() {
+    serve(new byte[0], "*1\r\n$4\r\nPING\r\n".length());
+
+    connection = connect(200);
+    connection.sendCommand(Command.PING);
+    try {
+      connection.getStatusCodeReply();
+      fail("Should have timed out");
+    } catch (JedisConnectionException jce) {
+      assertTrue(jce.getCause() instanceof SocketTimeoutException);
+    }
+    assertTrue(connection.isBroken());
+    done.countDown();
+  }
+
+  @Test
+  public void buffersAreReturnedOnDisconnect() {
+    serve("+PONG\r\n".getBytes(), "*1\r\n$4\r\nPING\r\n".length());
+
+    connection = connect(2000);
+    connection.sendCommand(Command.PING);
+    assertEquals("PONG", connection.getStatusCodeReply());
+    assertEquals(0, transport.getPooledBufferCount());
+
+    done.countDown();
+    connection.disconnect();
+    assertEquals(2, transport.getPooledBufferCount());
+  }
+}
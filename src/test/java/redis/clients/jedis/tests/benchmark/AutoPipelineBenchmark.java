@@ -0,0 +1,64 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import redis.clients.jedis.AsyncJedis;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.tests.HostAndPortUtil;
+
+/**
+ * Same workload as {@link PoolBenchmark}, with 50 threads waiting for each reply, but sharing one
+ * {@link AsyncJedis} connection, first flushing every command and then batching them.
+ */
+public class AutoPipelineBenchmark {
+  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
+  private static final int TOTAL_OPERATIONS = 100000;
+
+  public static void main(String[] args) throws Exception {
+    Jedis j = new Jedis(hnp);
+    j.connect();
+    j.auth("foobared");
+    j.flushAll();
+    j.quit();
+    j.disconnect();
+
+    measure(1, 0);
+    measure(128, 0);
+    measure(128, 50);
+  }
+
+  private static void measure(int maxBatchSize, long lingerMicros) throws Exception {
+    final AsyncJedis async = new AsyncJedis(hnp, DefaultJedisClientConfig.builder()
+        .password("foobared").build(), maxBatchSize, lingerMicros);
+    List<Thread> tds = new ArrayList<Thread>();
+
+    long t = System.currentTimeMillis();
+    final AtomicInteger ind = new AtomicInteger();
+    for (int i = 0; i < 50; i++) {
+      Thread hj = new Thread(new Runnable() {
+        public void run() {
+          for (int i = 0; (i = ind.getAndIncrement()) < TOTAL_OPERATIONS;) {
+            final String key = "foo" + i;
+            async.set(key, key).join();
+            async.get(key).join();
+          }
+        }
+      });
+      tds.add(hj);
+      hj.start();
+    }
+
+    for (Thread td : tds)
+      td.join();
+
+    long elapsed = System.currentTimeMillis() - t;
+    System.out.println("maxBatchSize " + maxBatchSize + ", linger " + lingerMicros + "us: "
+        + ((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops, "
+        + String.format("%.1f", async.getAverageBatchSize()) + " commands per flush");
+    async.close();
+  }
+}
@@ -0,0 +1,46 @@
+package redis.clients.jedis.tests.benchmark;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.tests.HostAndPortUtil;
+
+/**
+ * Same workload as {@link PipelinedGetSetBenchmark}, reading the replies after the last command
+ * and while the commands are written.
+ */
+public class FullDuplexPipelineBenchmark {
+  private static HostAndPort hnp = HostAndPortUtil.getRedisServers().get(0);
+  private static final int TOTAL_OPERATIONS = 200000;
+
+  public static void main(String[] args) throws Exception {
+    Jedis jedis = new Jedis(hnp);
+    jedis.connect();
+    jedis.auth("foobared");
+    jedis.flushAll();
+
+    for (int i = 0; i < 3; i++) {
+      measure(jedis, false);
+      measure(jedis, true);
+    }
+
+    jedis.disconnect();
+  }
+
+  private static void measure(Jedis jedis, boolean fullDuplex) {
+    long begin = System.currentTimeMillis();
+
+    Pipeline p = jedis.pipelined();
+    p.setFullDuplex(fullDuplex);
+    for (int n = 0; n < TOTAL_OPERATIONS; n++) {
+      String key = "foo" + n;
+      p.set(key, "bar" + n);
+      p.get(key);
+    }
+    p.sync();
+
+    long elapsed = System.currentTimeMillis() - begin;
+    System.out.println((fullDuplex ? "full duplex: " : "sync: ")
+        + ((1000 * 2 * TOTAL_OPERATIONS) / elapsed) + " ops");
+  }
+}
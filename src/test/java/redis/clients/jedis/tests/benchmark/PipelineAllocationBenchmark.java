@@ -0,0 +1,70 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Queable;
+import redis.clients.jedis.Response;
+
+/**
+ * Measures the bytes allocated per pipelined INCR to queue its response and hand it the reply,
+ * leaving out the connection, with and without the compact mode of Pipeline. Needs a HotSpot JVM for the per thread allocation counter.
+ */
+public class PipelineAllocationBenchmark extends Queable {
+  private static final int TOTAL_OPERATIONS = 1000000;
+  private static final Long REPLY = 1L;
+
+  public static void main(String[] args) {
+    for (int at = 0; at != 5; ++at) {
+      System.out.println(new PipelineAllocationBenchmark().measure() + " bytes per command");
+      System.out.println(new PipelineAllocationBenchmark().measureCompact()
+          + " bytes per command in compact mode");
+    }
+  }
+
+  private double measure() {
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+
+    long before = bean.getThreadAllocatedBytes(thread);
+    for (int n = 0; n < TOTAL_OPERATIONS; n++) {
+      getResponse(BuilderFactory.LONG);
+    }
+    Response<?> last = null;
+    while (hasPipelinedResponse()) {
+      last = generateResponse(REPLY);
+    }
+    long allocated = bean.getThreadAllocatedBytes(thread) - before;
+    if (last.get() != REPLY) {
+      throw new IllegalStateException();
+    }
+    return (double) allocated / TOTAL_OPERATIONS;
+  }
+
+  /**
+   * Like {@link #measure()}, for a pipeline in compact mode whose results are returned by
+   * syncAndReturnAll().
+   */
+  private double measureCompact() {
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+
+    long before = bean.getThreadAllocatedBytes(thread);
+    for (int n = 0; n < TOTAL_OPERATIONS; n++) {
+      enqueueBuilder(BuilderFactory.LONG);
+    }
+    List<Object> results = new ArrayList<>(TOTAL_OPERATIONS);
+    while (hasPipelinedResponse()) {
+      results.add(generateResult(REPLY));
+    }
+    long allocated = bean.getThreadAllocatedBytes(thread) - before;
+    if (results.get(TOTAL_OPERATIONS - 1) != REPLY) {
+      throw new IllegalStateException();
+    }
+    return (double) allocated / TOTAL_OPERATIONS;
+  }
+}
@@ -1,6 +1,8 @@
 package redis.clients.jedis.tests.benchmark;
 
+import redis.clients.jedis.BuilderFactory;
 import redis.clients.jedis.Protocol;
+import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.util.RedisInputStream;
 import redis.clients.jedis.util.RedisOutputStream;
 
@@ -8,6 +10,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -48,6 +51,85 @@ public class ProtocolBenchmark {
     }
 
     System.out.println((total / 5) + " avg");
+
+    // small commands: the header of Protocol.Command is pre-encoded, a custom ProtocolCommand with
+    // the same name goes through the generic encoding
+    ProtocolCommand uncachedGet = new ProtocolCommand() {
+      @Override
+      public byte[] getRaw() {
+        return Protocol.Command.GET.getRaw();
+      }
+    };
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long elapsed = measureSmallCommand(Protocol.Command.GET);
+      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (at >= 5) {
+        total += ops;
+      }
+    }
+
+    System.out.println((total / 5) + " avg GET, pre-encoded header");
+
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long elapsed = measureSmallCommand(uncachedGet);
+      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (at >= 5) {
+        total += ops;
+      }
+    }
+
+    System.out.println((total / 5) + " avg GET, generic header");
+
+    // ZRANGE WITHSCORES: parsed into lists and then built, or built while parsing
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long elapsed = measureInputZSet(false);
+      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (at >= 5) {
+        total += ops;
+      }
+    }
+
+    System.out.println((total / 5) + " avg ZRANGE WITHSCORES, build");
+
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long elapsed = measureInputZSet(true);
+      long ops = ((1000 * 2 * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (at >= 5) {
+        total += ops;
+      }
+    }
+
+    System.out.println((total / 5) + " avg ZRANGE WITHSCORES, reply handler");
+  }
+
+  private static long measureInputZSet(boolean handler) throws Exception {
+    long duration = 0;
+
+    StringBuilder reply = new StringBuilder("*20\r\n");
+    for (int i = 0; i < 10; i++) {
+      String score = String.valueOf(i * 1.5);
+      reply.append("$7\r\nmember").append(i).append("\r\n$").append(score.length())
+          .append("\r\n").append(score).append("\r\n");
+    }
+    InputStream is = new ByteArrayInputStream(reply.toString().getBytes());
+
+    RedisInputStream in = new RedisInputStream(is);
+    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+      long start = System.nanoTime();
+      if (handler) {
+        Protocol.read(in, BuilderFactory.TUPLE_ZSET.newReplyHandler());
+      } else {
+        BuilderFactory.TUPLE_ZSET.build(Protocol.read(in));
+      }
+      duration += (System.nanoTime() - start);
+      in.reset();
+    }
+
+    return duration;
   }
 
   private static long measureInputMulti() throws Exception {
@@ -98,4 +180,26 @@ public class ProtocolBenchmark {
 
     return duration;
   }
+
+  private static long measureSmallCommand(ProtocolCommand command) throws Exception {
+    byte[] KEY = "123456789".getBytes();
+
+    // a sink that never fills up, so only the encoding is measured
+    RedisOutputStream out = new RedisOutputStream(new OutputStream() {
+      @Override
+      public void write(int b) {
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+      }
+    });
+
+    long start = System.nanoTime();
+    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+      Protocol.sendCommand(out, command, KEY);
+    }
+    out.flush();
+    return System.nanoTime() - start;
+  }
 }
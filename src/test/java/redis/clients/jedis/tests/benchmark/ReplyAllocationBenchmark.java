@@ -0,0 +1,47 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.RedisInputStream;
+
+/**
+ * Measures the bytes allocated per parsed reply, as the reply of a pipelined SET, MULTI or INCR is
+ * read by Pipeline.sync(). Needs a HotSpot JVM for the per thread allocation counter.
+ */
+public class ReplyAllocationBenchmark {
+  private static final int TOTAL_OPERATIONS = 1000000;
+
+  public static void main(String[] args) throws Exception {
+    for (int at = 0; at != 3; ++at) {
+      System.out.println(measure("+OK\r\n") + " bytes per +OK");
+      System.out.println(measure("+QUEUED\r\n") + " bytes per +QUEUED");
+      System.out.println(measure("+SOMETHING\r\n") + " bytes per other status");
+      System.out.println(measure(":1\r\n") + " bytes per :1");
+      System.out.println(measure(":100000\r\n") + " bytes per :100000");
+    }
+  }
+
+  private static double measure(String reply) throws Exception {
+    com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+        .getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+
+    RedisInputStream in = new RedisInputStream(new ByteArrayInputStream(reply.getBytes()));
+    Object last = null;
+    long before = bean.getThreadAllocatedBytes(thread);
+    for (int n = 0; n < TOTAL_OPERATIONS; n++) {
+      // the pipeline decodes status replies while reading when the response is a String
+      Object read = Protocol.readDecodingStatus(in);
+      last = read instanceof Long ? read : BuilderFactory.STRING.build(read);
+      in.reset();
+    }
+    long allocated = bean.getThreadAllocatedBytes(thread) - before;
+    if (last == null) {
+      throw new IllegalStateException();
+    }
+    return (double) allocated / TOTAL_OPERATIONS;
+  }
+}
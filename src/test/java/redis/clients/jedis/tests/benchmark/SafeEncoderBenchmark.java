@@ -1,35 +1,53 @@
 package redis.clients.jedis.tests.benchmark;
 
 import java.io.IOException;
-import java.net.UnknownHostException;
-import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
 
+import redis.clients.jedis.Protocol;
 import redis.clients.jedis.util.SafeEncoder;
 
 public class SafeEncoderBenchmark {
   private static final int TOTAL_OPERATIONS = 10000000;
 
-  public static void main(String[] args) throws UnknownHostException, IOException {
-    long begin = Calendar.getInstance().getTimeInMillis();
+  private static final String VALUE = "user:1000:session";
 
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      SafeEncoder.encode("foo bar!");
-    }
-
-    long elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " ops to build byte[]");
+  private static volatile Object sink;
 
-    begin = Calendar.getInstance().getTimeInMillis();
-
-    byte[] bytes = "foo bar!".getBytes();
-    for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
-      SafeEncoder.encode(bytes);
+  public static void main(String[] args) throws IOException {
+    // the first rounds are warm up, only the last five are averaged
+    long total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long begin = System.nanoTime();
+      for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+        sink = VALUE.getBytes(Protocol.CHARSET);
+      }
+      total += at >= 5 ? ops(begin) : 0;
     }
+    System.out.println((total / 5) + " ops to build byte[] with getBytes(\"UTF-8\")");
+
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long begin = System.nanoTime();
+      for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+        sink = SafeEncoder.encode(VALUE);
+      }
+      total += at >= 5 ? ops(begin) : 0;
+    }
+    System.out.println((total / 5) + " ops to build byte[] with SafeEncoder");
+
+    byte[] bytes = VALUE.getBytes();
+    total = 0;
+    for (int at = 0; at != 10; ++at) {
+      long begin = System.nanoTime();
+      for (int n = 0; n <= TOTAL_OPERATIONS; n++) {
+        sink = SafeEncoder.encode(bytes);
+      }
+      total += at >= 5 ? ops(begin) : 0;
+    }
+    System.out.println((total / 5) + " ops to build Strings");
+  }
 
-    elapsed = Calendar.getInstance().getTimeInMillis() - begin;
-
-    System.out.println(((1000 * TOTAL_OPERATIONS) / elapsed) + " ops to build Strings");
-
+  private static long ops(long begin) {
+    return (1000L * TOTAL_OPERATIONS) / TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
   }
-}
\ No newline at end of file
+}
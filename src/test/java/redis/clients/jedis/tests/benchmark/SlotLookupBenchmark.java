@@ -0,0 +1,83 @@
+package redis.clients.jedis.tests.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import redis.clients.jedis.BinaryJedisCluster;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClusterInfoCache;
+
+/**
+ * Measures slot to pool lookups from many threads at once, while the slots of a node are
+ * reassigned every millisecond. No Redis server is needed. The number of threads can be given as
+ * argument, and defaults to the number of processors.
+ */
+public class SlotLookupBenchmark {
+  private static final int OPERATIONS_PER_THREAD = 20000000;
+
+  public static void main(String[] args) throws Exception {
+    int threads = args.length > 0 ? Integer.parseInt(args[0])
+        : Runtime.getRuntime().availableProcessors();
+
+    final JedisClusterInfoCache cache = new JedisClusterInfoCache(new GenericObjectPoolConfig<>(),
+        2000);
+    final HostAndPort first = new HostAndPort("localhost", 7379);
+    final HostAndPort second = new HostAndPort("localhost", 7380);
+    List<Integer> all = new ArrayList<>();
+    for (int slot = 0; slot < BinaryJedisCluster.HASHSLOTS; slot++) {
+      all.add(slot);
+    }
+    cache.assignSlotsToNode(all, first);
+
+    for (int at = 0; at != 3; ++at) {
+      System.out.println(measure(cache, threads, first, second) + " lookups/s with " + threads
+          + " threads");
+    }
+    cache.reset();
+  }
+
+  private static long measure(final JedisClusterInfoCache cache, int threads,
+      final HostAndPort first, final HostAndPort second) throws InterruptedException {
+    final CountDownLatch done = new CountDownLatch(threads);
+    Thread topology = new Thread(() -> {
+      for (int n = 0; done.getCount() > 0; n++) {
+        cache.assignSlotToNode(n & (BinaryJedisCluster.HASHSLOTS - 1), n % 2 == 0 ? second : first);
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    });
+
+    List<Thread> readers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      readers.add(new Thread(() -> {
+        int missing = 0;
+        for (int n = 0; n < OPERATIONS_PER_THREAD; n++) {
+          if (cache.getSlotPool(n & (BinaryJedisCluster.HASHSLOTS - 1)) == null) {
+            missing++;
+          }
+        }
+        done.countDown();
+        if (missing > 0) {
+          throw new IllegalStateException(missing + " slots without pool");
+        }
+      }));
+    }
+
+    long begin = System.nanoTime();
+    topology.start();
+    for (Thread reader : readers) {
+      reader.start();
+    }
+    done.await();
+    long elapsed = System.nanoTime() - begin;
+    topology.join();
+
+    return (long) threads * OPERATIONS_PER_THREAD * 1000000000L / elapsed;
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static redis.clients.jedis.Protocol.Command.BLPOP;
 import static redis.clients.jedis.Protocol.Command.GET;
 import static redis.clients.jedis.Protocol.Command.LRANGE;
@@ -12,6 +13,8 @@ import static redis.clients.jedis.Protocol.Command.SET;
 import static redis.clients.jedis.params.SetParams.setParams;
 import static redis.clients.jedis.tests.utils.AssertUtil.assertByteArrayListEquals;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -56,6 +59,37 @@ public class BinaryValuesCommandsTest extends JedisCommandTestBase {
     assertNull(jedis.get(bbar));
   }
 
+  @Test
+  public void getIntoOutputStream() {
+    jedis.set(bfoo, binaryValue);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(binaryValue.length, jedis.get(bfoo, out));
+    assertArrayEquals(binaryValue, out.toByteArray());
+
+    assertEquals(-1, jedis.get(bbar, new ByteArrayOutputStream()));
+  }
+
+  @Test
+  public void getIntoByteBuffer() {
+    jedis.set(bfoo, binaryValue);
+
+    ByteBuffer dst = ByteBuffer.allocateDirect(binaryValue.length);
+    assertEquals(binaryValue.length, jedis.get(bfoo, dst));
+    dst.flip();
+    byte[] read = new byte[dst.remaining()];
+    dst.get(read);
+    assertArrayEquals(binaryValue, read);
+
+    try {
+      jedis.get(bfoo, ByteBuffer.allocate(10));
+      fail("Expected a JedisDataException to be thrown.");
+    } catch (JedisDataException e) {
+      // the connection is still usable
+    }
+    assertArrayEquals(binaryValue, jedis.get(bfoo));
+  }
+
   @Test
   public void setNxExAndGet() {
     String status = jedis.set(bfoo, binaryValue, setParams().nx().ex(expireSeconds));
@@ -11,6 +11,7 @@ import static redis.clients.jedis.Protocol.Command.*;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.junit.After;
@@ -19,6 +20,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.OptimisticTransactionExecutor;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Protocol.Keyword;
 import redis.clients.jedis.Response;
@@ -421,4 +423,35 @@ public class TransactionCommandsTest extends JedisCommandTestBase {
     assertEquals(exp, res);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void optimisticTransactionExecutor() {
+    OptimisticTransactionExecutor executor = OptimisticTransactionExecutor.builder()
+        .maxAttempts(3).build();
+    jedis.set("counter", "1");
+
+    final int[] attempts = { 0 };
+    List<Object> result = executor.execute(jedis, p -> p.get("counter"), (counter, p) -> {
+      if (attempts[0]++ == 0) {
+        nj.incr("counter"); // conflicts with the first attempt only
+      }
+      p.set("counter", String.valueOf(Long.parseLong(counter.get()) * 10));
+    }, "counter");
+
+    assertEquals(Collections.<Object> singletonList("OK"), result);
+    assertEquals("20", jedis.get("counter"));
+    assertEquals(1, executor.getCommitCount());
+    assertEquals(1, executor.getConflictCount());
+    assertEquals(1, executor.getRetryCount());
+    assertEquals(0, executor.getAbortCount());
+
+    // always conflicting
+    assertNull(executor.execute(jedis, p -> p.get("counter"), (counter, p) -> {
+      nj.incr("counter");
+      p.del("counter");
+    }, "counter"));
+    assertEquals(4, executor.getConflictCount());
+    assertEquals(1, executor.getAbortCount());
+    assertEquals("23", jedis.get("counter"));
+  }
+
+}